@@ -37,6 +37,24 @@ contract EventChain {
      * @param metadataHash The IPFS hash of the event metadata
      */
     function addEvent(string memory eventType, string memory metadataHash) public {
+        _addEvent(eventType, metadataHash);
+    }
+
+    /**
+     * @dev Add several events in one transaction; reverts if any entry is invalid
+     * @param eventTypes The types of the events
+     * @param metadataHashes The IPFS hashes of the event metadata, one per event type
+     */
+    function addEvents(string[] memory eventTypes, string[] memory metadataHashes) public {
+        require(eventTypes.length == metadataHashes.length, "Array lengths do not match");
+        require(eventTypes.length > 0, "No events to add");
+
+        for (uint256 i = 0; i < eventTypes.length; i++) {
+            _addEvent(eventTypes[i], metadataHashes[i]);
+        }
+    }
+
+    function _addEvent(string memory eventType, string memory metadataHash) private {
         require(bytes(metadataHash).length > 0, "Metadata hash cannot be empty");
         require(bytes(eventType).length > 0, "Event type cannot be empty");
         require(!hashExists[metadataHash], "Event with this hash already exists");
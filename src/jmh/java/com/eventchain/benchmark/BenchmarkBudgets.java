@@ -0,0 +1,114 @@
+package com.eventchain.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Fails the build when a JMH result misses its budget in benchmark-budgets.properties.
+ * Run by the jmh profile after the benchmarks, with the JSON result file as argument.
+ */
+public final class BenchmarkBudgets {
+
+    private static final String MIN_OPS = ".min-ops-per-second";
+    private static final String MAX_NS = ".max-ns-per-op";
+    private static final String MAX_BYTES = ".max-bytes-per-op";
+
+    private BenchmarkBudgets() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = BenchmarkBudgets.class.getResourceAsStream("/benchmark-budgets.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("benchmark-budgets.properties is not on the classpath");
+            }
+            budgets.load(in);
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (JsonNode result : new ObjectMapper().readTree(new File(args[0]))) {
+            String benchmark = result.path("benchmark").asText();
+            String label = benchmark + result.path("params");
+
+            String minOps = budgets.getProperty(benchmark + MIN_OPS);
+            if (minOps != null && "thrpt".equals(result.path("mode").asText())) {
+                JsonNode primary = result.path("primaryMetric");
+                double opsPerSecond = primary.path("score").asDouble()
+                        * perSecond(primary.path("scoreUnit").asText());
+                check(failures, label, "ops/s", opsPerSecond, Double.parseDouble(minOps), true);
+            }
+
+            String maxNs = budgets.getProperty(benchmark + MAX_NS);
+            if (maxNs != null) {
+                JsonNode primary = result.path("primaryMetric");
+                String unit = primary.path("scoreUnit").asText();
+                double score = primary.path("score").asDouble();
+                // Throughput results are inverted, so either mode can carry a latency budget
+                double nsPerOp = "thrpt".equals(result.path("mode").asText())
+                        ? 1e9 / (score * perSecond(unit))
+                        : score * nanos(unit);
+                check(failures, label, "ns/op", nsPerOp, Double.parseDouble(maxNs), false);
+            }
+
+            String maxBytes = budgets.getProperty(benchmark + MAX_BYTES);
+            if (maxBytes != null) {
+                JsonNode allocation = result.path("secondaryMetrics").path("gc.alloc.rate.norm");
+                if (allocation.isMissingNode()) {
+                    failures.add(label + ": no gc.alloc.rate.norm result (run with -prof gc)");
+                } else {
+                    check(failures, label, "B/op", allocation.path("score").asDouble(), Double.parseDouble(maxBytes), false);
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.err.println("Over budget: " + failure));
+            System.exit(1);
+        }
+        System.out.println("All benchmark results are within budget");
+    }
+
+    private static void check(List<String> failures, String label, String unit,
+                              double actual, double limit, boolean atLeast) {
+        boolean ok = atLeast ? actual >= limit : actual <= limit;
+        String line = String.format("%s: %.1f %s (budget %s %.1f)", label, actual, unit, atLeast ? ">=" : "<=", limit);
+        if (ok) {
+            System.out.println("Within budget: " + line);
+        } else {
+            failures.add(line);
+        }
+    }
+
+    /**
+     * Factor from a JMH throughput unit such as {@code ops/ms} to ops per second
+     */
+    private static double perSecond(String unit) {
+        return switch (unit) {
+            case "ops/ns" -> 1e9;
+            case "ops/us" -> 1e6;
+            case "ops/ms" -> 1e3;
+            case "ops/min" -> 1.0 / 60;
+            default -> 1;
+        };
+    }
+
+    /**
+     * Factor from a JMH time-per-operation unit such as {@code us/op} to nanoseconds
+     */
+    private static double nanos(String unit) {
+        return switch (unit) {
+            case "us/op" -> 1e3;
+            case "ms/op" -> 1e6;
+            case "s/op" -> 1e9;
+            case "min/op" -> 60e9;
+            default -> 1;
+        };
+    }
+}
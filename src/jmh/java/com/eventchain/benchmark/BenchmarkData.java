@@ -0,0 +1,125 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.model.Event;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Deterministic fixtures shared by the benchmarks: realistic events (Ganache-style
+ * address, CIDv0 metadata hash, 32-byte transaction hash) and ABI-encoded contract
+ * return values.
+ */
+final class BenchmarkData {
+
+    static final String ACTOR = "0xeb47ce86c1cbd0e04fa1b4c5ad98722410546177";
+    static final String METADATA_HASH = "QmPmgMwMdNnt4ujECmfCvwY9K4heH1qLnMeaLW7XDqxtxH";
+    static final String TX_HASH = "0x0dac10868f888339adbe5c5a52031cf8b1ffcfb9fb2ad134af4d07c3583d804f";
+    static final long TIMESTAMP = 1_760_000_000L;
+
+    private static final String[] EVENT_TYPES = {"DISTRIBUTION", "ALLOCATION", "RECEIPT", "AUDIT"};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private BenchmarkData() {
+    }
+
+    static Event event(int index) {
+        return new Event(BigInteger.valueOf(index), ACTOR, EVENT_TYPES[index % EVENT_TYPES.length],
+                metadataHash(index), BigInteger.valueOf(TIMESTAMP + index), TX_HASH);
+    }
+
+    /**
+     * A distinct 46-character hash per index, shaped like a CIDv0
+     */
+    static String metadataHash(int index) {
+        String suffix = Integer.toString(index, 36);
+        return METADATA_HASH.substring(0, METADATA_HASH.length() - suffix.length()) + suffix;
+    }
+
+    /**
+     * The hex return value of {@code getAllEvents()} for a ledger of {@code size} events:
+     * {@code (address[], string[], string[], uint256[])}, encoded directly into one buffer
+     * so fixtures of a million events fit in a modest heap.
+     */
+    static String allEventsResponse(int size) {
+        byte[][] types = new byte[size][];
+        byte[][] hashes = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            Event event = event(i);
+            types[i] = event.getEventType().getBytes(StandardCharsets.UTF_8);
+            hashes[i] = event.getMetadataHash().getBytes(StandardCharsets.UTF_8);
+        }
+        long actorsWords = 1L + size;
+        long typesWords = stringArrayWords(types);
+        long hashesWords = stringArrayWords(hashes);
+        long timestampsWords = 1L + size;
+        long words = 4 + actorsWords + typesWords + hashesWords + timestampsWords;
+
+        StringBuilder hex = new StringBuilder(Math.toIntExact(2 + words * 64));
+        hex.append("0x");
+        long offset = 4;
+        word(hex, offset * 32);
+        offset += actorsWords;
+        word(hex, offset * 32);
+        offset += typesWords;
+        word(hex, offset * 32);
+        offset += hashesWords;
+        word(hex, offset * 32);
+
+        word(hex, size);
+        byte[] actor = new BigInteger(ACTOR.substring(2), 16).toByteArray();
+        for (int i = 0; i < size; i++) {
+            word(hex, actor);
+        }
+        stringArray(hex, types);
+        stringArray(hex, hashes);
+        word(hex, size);
+        for (int i = 0; i < size; i++) {
+            word(hex, TIMESTAMP + i);
+        }
+        return hex.toString();
+    }
+
+    private static long stringArrayWords(byte[][] strings) {
+        long words = 1 + strings.length;
+        for (byte[] string : strings) {
+            words += 1 + (string.length + 31) / 32;
+        }
+        return words;
+    }
+
+    private static void stringArray(StringBuilder hex, byte[][] strings) {
+        word(hex, strings.length);
+        // Element offsets are relative to the first word after the length
+        long offset = strings.length * 32L;
+        for (byte[] string : strings) {
+            word(hex, offset);
+            offset += 32L * (1 + (string.length + 31) / 32);
+        }
+        for (byte[] string : strings) {
+            word(hex, string.length);
+            for (byte b : string) {
+                hex.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+            }
+            for (int pad = string.length % 32 == 0 ? 0 : 32 - string.length % 32; pad > 0; pad--) {
+                hex.append("00");
+            }
+        }
+    }
+
+    private static void word(StringBuilder hex, long value) {
+        for (int shift = 252; shift >= 0; shift -= 4) {
+            hex.append(shift >= 64 ? '0' : HEX[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    private static void word(StringBuilder hex, byte[] bigEndian) {
+        int start = bigEndian.length > 32 ? bigEndian.length - 32 : 0;
+        for (int pad = 32 - (bigEndian.length - start); pad > 0; pad--) {
+            hex.append("00");
+        }
+        for (int i = start; i < bigEndian.length; i++) {
+            hex.append(HEX[(bigEndian[i] >> 4) & 0xf]).append(HEX[bigEndian[i] & 0xf]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.dto.ProofJson;
+import com.eventchain.model.Event;
+import com.eventchain.service.ArtifactCache;
+import com.eventchain.service.EventResponseAssembler;
+import com.eventchain.service.ProofService;
+import com.eventchain.service.QRCodeService;
+import com.google.zxing.WriterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-event work behind every event response: event hash, proof JSON and QR code.
+ * The artifact cache is disabled so each call does the full work. Budgets for these
+ * results are in benchmark-budgets.properties and checked after the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventArtifactsBenchmark {
+
+    private ProofService proofService;
+    private QRCodeService qrCodeService;
+    private EventResponseAssembler assembler;
+
+    private Event event;
+    private String eventHash;
+    private String proofJson;
+
+    @Setup
+    public void setUp() {
+        proofService = new ProofService();
+        qrCodeService = new QRCodeService();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ArtifactCache cache = new ArtifactCache(false, 0, false, registry);
+        assembler = new EventResponseAssembler(proofService, qrCodeService, cache, 1, Integer.MAX_VALUE, registry);
+
+        event = BenchmarkData.event(42);
+        eventHash = assembler.generateEventHash(event);
+        proofJson = proofService.proofJsonToString(proofService.generateProofJson(
+                eventHash, event.getMetadataHash(), event.getActor(), event.getTimestamp(), event.getTransactionHash()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        assembler.shutdown();
+    }
+
+    @Benchmark
+    public String eventHash() {
+        return assembler.generateEventHash(event);
+    }
+
+    @Benchmark
+    public String proofJson() {
+        ProofJson proof = proofService.generateProofJson(
+                eventHash, event.getMetadataHash(), event.getActor(), event.getTimestamp(), event.getTransactionHash());
+        return proofService.proofJsonToString(proof);
+    }
+
+    @Benchmark
+    public String qrCodeBase64() throws WriterException {
+        return qrCodeService.generateQRCodeBase64(proofJson);
+    }
+}
@@ -0,0 +1,105 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.model.Event;
+import com.eventchain.service.EventAbiDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a {@code getAllEvents()} eth_call result into events, as GET /events does
+ * without the projection. A million-event response is about 600 MB of hex, hence the heap.
+ *
+ * {@code web3j} is the generic {@code FunctionReturnDecoder} path the service used before
+ * {@link EventAbiDecoder}; it grows quadratically with the response, so it only runs at
+ * 1000 events.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class GetAllEventsDecodeBenchmark {
+
+    @Benchmark
+    public List<Event> decode(Ledger ledger) {
+        return EventAbiDecoder.decodeAllEvents(ledger.response);
+    }
+
+    /**
+     * Decoding into a callback, as a consumer that never holds the whole ledger would
+     */
+    @Benchmark
+    public int decodeToSink(Ledger ledger, Blackhole blackhole) {
+        return EventAbiDecoder.decodeAllEvents(ledger.response, (index, actor, eventType, metadataHash, timestamp) -> {
+            blackhole.consume(actor);
+            blackhole.consume(eventType);
+            blackhole.consume(metadataHash);
+            blackhole.consume(timestamp);
+        });
+    }
+
+    @Benchmark
+    public List<Type> web3j(Web3jBaseline baseline) {
+        return FunctionReturnDecoder.decode(baseline.response, Web3jBaseline.OUTPUTS);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Ledger {
+
+        @Param({"1000", "100000", "1000000"})
+        private int events;
+
+        private String response;
+
+        @Setup
+        public void setUp() {
+            response = BenchmarkData.allEventsResponse(events);
+            List<Event> decoded = EventAbiDecoder.decodeAllEvents(response);
+            if (decoded.size() != events
+                    || !decoded.get(events - 1).getMetadataHash().equals(BenchmarkData.metadataHash(events - 1))) {
+                throw new IllegalStateException("getAllEvents fixture does not decode to " + events + " events");
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Web3jBaseline {
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private static final List<TypeReference<Type>> OUTPUTS = (List) List.of(
+                new TypeReference<DynamicArray<Address>>() {},
+                new TypeReference<DynamicArray<Utf8String>>() {},
+                new TypeReference<DynamicArray<Utf8String>>() {},
+                new TypeReference<DynamicArray<Uint256>>() {});
+
+        @Param({"1000"})
+        private int baselineEvents;
+
+        private String response;
+
+        @Setup
+        public void setUp() {
+            response = BenchmarkData.allEventsResponse(baselineEvents);
+        }
+    }
+}
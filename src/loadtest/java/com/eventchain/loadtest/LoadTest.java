@@ -0,0 +1,374 @@
+package com.eventchain.loadtest;
+
+import com.eventchain.EventChainApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for POST /events and GET /events/verify/{hash}.
+ *
+ * Requests are issued on a fixed schedule (Poisson or uniform arrivals at {@code --rate}
+ * per second) whether or not earlier ones have completed, and latency is measured from
+ * each request's scheduled start, so a slow server shows up as latency rather than as a
+ * lower request rate (no coordinated omission). Writes also record the per-stage
+ * durations the server reports in its Server-Timing header.
+ *
+ * Without {@code --target} the application is started in this JVM on the in-memory
+ * ledger and the embedded IPFS store, so a run needs no Ganache, IPFS daemon or network.
+ *
+ * Options (all {@code --name=value}):
+ * <pre>
+ *   --target=http://host:port   drive an already running application instead
+ *   --rate=50                   arrivals per second
+ *   --duration=60               measured seconds
+ *   --warmup=10                 seconds of load before measuring
+ *   --read-ratio=0.5            share of arrivals that verify an existing hash
+ *   --arrival=poisson|uniform
+ *   --preload=200               events created (in batches) before the run, as read targets
+ *   --max-in-flight=10000       arrivals beyond this are counted as dropped
+ *   --timeout=60                per-request timeout in seconds
+ *   --block-time-ms=0           in-process ledger block time (0 = mine on send)
+ *   --latency-ms=0              in-process ledger RPC latency
+ *   --report-dir=target/loadtest  where the .hgrm percentile distributions go
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<String> hashes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Operation writes = new Operation("POST /events");
+    private final Operation reads = new Operation("GET /events/verify/{hash}");
+
+    private String baseUrl;
+    private volatile long measureFrom;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2 + 2, r -> {
+                    Thread thread = new Thread(r, "loadtest-http");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        new LoadTest(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext context = null;
+        if (options.containsKey("target")) {
+            baseUrl = options.get("target");
+        } else {
+            context = startApplication();
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            preload(intOption("preload", 200));
+            generate();
+            report(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() throws IOException {
+        Path dataDir = Files.createTempDirectory("eventchain-loadtest");
+        System.out.println("Starting EventChain in-process (memory ledger, embedded IPFS) in " + dataDir);
+        // Command-line arguments, so they take precedence over application.properties
+        return new SpringApplicationBuilder(EventChainApplication.class).run(
+                "--server.port=0",
+                "--blockchain.ledger=memory",
+                "--blockchain.contract.address=0x5FbDB2315678afecb367f032d93F642f64180aa3",
+                "--blockchain.memory.block-time-ms=" + options.getOrDefault("block-time-ms", "0"),
+                "--blockchain.memory.latency-ms=" + options.getOrDefault("latency-ms", "0"),
+                "--ipfs.store=embedded",
+                "--ipfs.embedded.data-dir=" + dataDir.resolve("ipfs"),
+                "--indexer.data-dir=" + dataDir.resolve("indexer"),
+                "--logging.level.root=WARN");
+    }
+
+    /**
+     * Create read targets up front so the mix is honoured from the first second
+     */
+    private void preload(int count) throws Exception {
+        for (int created = 0; created < count; ) {
+            int chunk = Math.min(50, count - created);
+            StringBuilder body = new StringBuilder("{\"events\":[");
+            for (int i = 0; i < chunk; i++) {
+                body.append(i > 0 ? "," : "").append(writeBody());
+            }
+            body.append("]}");
+            HttpResponse<String> response = client.send(post("/events/batch", body.toString()), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Preload failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode event : JSON.readTree(response.body()).path("events")) {
+                hashes.add(event.path("metadataHash").asText());
+            }
+            created += chunk;
+        }
+        if (count > 0) {
+            System.out.println("Preloaded " + hashes.size() + " events");
+        }
+    }
+
+    private void generate() {
+        double rate = doubleOption("rate", 50);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(intOption("warmup", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(intOption("duration", 60));
+        double readRatio = doubleOption("read-ratio", 0.5);
+        boolean poisson = !"uniform".equals(options.getOrDefault("arrival", "poisson"));
+        int maxInFlight = intOption("max-in-flight", 10_000);
+        double meanIntervalNanos = 1e9 / rate;
+
+        System.out.printf(Locale.ROOT, "Driving %s: %.1f req/s (%s), %.0f%% reads, %ds warm-up + %ds%n", baseUrl,
+                rate, poisson ? "poisson" : "uniform", readRatio * 100, warmupNanos / 1_000_000_000L,
+                durationNanos / 1_000_000_000L);
+
+        long start = System.nanoTime();
+        measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double intended = start;
+        while (intended < end) {
+            long scheduled = (long) intended;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean read = random.nextDouble() < readRatio && !hashes.isEmpty();
+            Operation operation = read ? reads : writes;
+            if (inFlight.get() >= maxInFlight) {
+                operation.dropped(scheduled);
+            } else if (read) {
+                send(reads, get("/events/verify/" + hashes.get(random.nextInt(hashes.size()))), scheduled);
+            } else {
+                send(writes, post("/events", writeBody()), scheduled);
+            }
+            intended += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+        }
+
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(intOption("timeout", 60));
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        writes.elapsedNanos = reads.elapsedNanos = end - measureFrom;
+    }
+
+    private void send(Operation operation, HttpRequest request, long scheduled) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            long latencyNanos = System.nanoTime() - scheduled;
+            if (scheduled < measureFrom) {
+                return;
+            }
+            boolean ok = error == null && response.statusCode() / 100 == 2;
+            operation.record(latencyNanos, ok, error != null ? error.getClass().getSimpleName() : "HTTP " + response.statusCode());
+            if (ok && operation == writes) {
+                response.headers().firstValue("Server-Timing").ifPresent(operation::recordStages);
+                try {
+                    hashes.add(JSON.readTree(response.body()).path("metadataHash").asText());
+                } catch (IOException e) {
+                    // Keep going: the hash is only needed as a future read target
+                }
+            }
+        });
+    }
+
+    private String writeBody() {
+        String metadata = "{\"run\":\"" + runId + "\",\"sequence\":" + sequence.incrementAndGet()
+                + ",\"commodity\":\"rice\",\"quantityKg\":" + ThreadLocalRandom.current().nextInt(1, 500) + "}";
+        try {
+            return JSON.writeValueAsString(Map.of("eventType", "DISTRIBUTION", "metadata", metadata));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(intOption("timeout", 60)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(intOption("timeout", 60)))
+                .GET()
+                .build();
+    }
+
+    private void report(PrintStream out) throws IOException {
+        Path reportDir = Paths.get(options.getOrDefault("report-dir", "target/loadtest"));
+        Files.createDirectories(reportDir);
+
+        out.println();
+        out.printf(Locale.ROOT, "%-34s %8s %7s %8s %9s %9s %9s %9s %9s %9s%n",
+                "", "count", "errors", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : List.of(writes, reads)) {
+            operation.print(out);
+            writeDistribution(reportDir, operation.name, operation.latency);
+            synchronized (operation.stages) {
+                for (Map.Entry<String, Histogram> stage : operation.stages.entrySet()) {
+                    printRow(out, "  " + stage.getKey(), stage.getValue(), -1, -1, -1);
+                    writeDistribution(reportDir, operation.name + " " + stage.getKey(), stage.getValue());
+                }
+            }
+            if (!operation.failures.isEmpty()) {
+                out.println("  failures: " + operation.failures);
+            }
+        }
+        out.println();
+        out.println("Percentile distributions written to " + reportDir.toAbsolutePath());
+    }
+
+    private static void writeDistribution(Path reportDir, String name, Histogram histogram) throws IOException {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        String file = name.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("(^-|-$)", "") + ".hgrm";
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(file)))) {
+            // Values are recorded in microseconds; scale to milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram,
+                                 long errors, long dropped, double throughput) {
+        out.printf(Locale.ROOT, "%-34s %8d %7s %8s %9s %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                histogram.getTotalCount(),
+                errors < 0 ? "" : Long.toString(errors),
+                dropped < 0 ? "" : Long.toString(dropped),
+                throughput < 0 ? "" : String.format(Locale.ROOT, "%.1f", throughput),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(1, MAX_LATENCY_MICROS, 3);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private double doubleOption(String name, double defaultValue) {
+        return options.containsKey(name) ? Double.parseDouble(options.get(name)) : defaultValue;
+    }
+
+    /**
+     * Latency of successful requests (microseconds), plus per-stage server timings
+     */
+    private final class Operation {
+        private final String name;
+        private final Histogram latency = histogram();
+        private final Map<String, Histogram> stages = new LinkedHashMap<>();
+        private final Map<String, Integer> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private long elapsedNanos;
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        void record(long latencyNanos, boolean ok, String outcome) {
+            if (ok) {
+                latency.recordValue(Math.min(MAX_LATENCY_MICROS, latencyNanos / 1000));
+            } else {
+                errors.incrementAndGet();
+                failures.merge(outcome, 1, Integer::sum);
+            }
+        }
+
+        void dropped(long scheduled) {
+            if (scheduled >= measureFrom) {
+                dropped.incrementAndGet();
+            }
+        }
+
+        /**
+         * Parse {@code name;dur=milliseconds} entries of a Server-Timing header
+         */
+        void recordStages(String serverTiming) {
+            for (String entry : serverTiming.split(",")) {
+                String[] parts = entry.trim().split(";");
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().startsWith("dur=")) {
+                        long micros = (long) (Double.parseDouble(parts[i].trim().substring(4)) * 1000);
+                        Histogram histogram;
+                        synchronized (stages) {
+                            histogram = stages.computeIfAbsent(parts[0].trim(), stage -> histogram());
+                        }
+                        histogram.recordValue(Math.max(0, Math.min(MAX_LATENCY_MICROS, micros)));
+                    }
+                }
+            }
+        }
+
+        void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            printRow(out, name, latency, errors.get(), dropped.get(), seconds > 0 ? latency.getTotalCount() / seconds : 0);
+        }
+    }
+}
@@ -1,25 +1,66 @@
 package com.eventchain.config;
 
+import com.eventchain.service.InMemoryEventChainNode;
+import com.eventchain.service.InstrumentedWeb3jService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.http.HttpService;
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.Keys;
 
+import java.math.BigInteger;
+
+@Slf4j
 @Configuration
 public class BlockchainConfig {
 
     @Value("${blockchain.network.url}")
     private String networkUrl;
 
+    /** "rpc" talks to the node at blockchain.network.url; "memory" runs an in-process ledger */
+    @Value("${blockchain.ledger:rpc}")
+    private String ledger;
+
+    @Value("${blockchain.contract.address:}")
+    private String contractAddress;
+
+    @Value("${blockchain.memory.block-time-ms:0}")
+    private long memoryBlockTimeMs;
+
+    @Value("${blockchain.memory.latency-ms:0}")
+    private long memoryLatencyMs;
+
+    @Value("${blockchain.memory.gas-price-wei:20000000000}")
+    private BigInteger memoryGasPrice;
+
+    @Value("${blockchain.memory.initial-balance-wei:1000000000000000000000}")
+    private BigInteger memoryInitialBalance;
+
     @Value("${blockchain.private.key:}")
     private String privateKey;
 
+    /**
+     * Web3j over the configured ledger; every JSON-RPC call is timed per method
+     */
     @Bean
-    public Web3j web3j() {
-        return Web3j.build(new HttpService(networkUrl));
+    public Web3j web3j(MeterRegistry meterRegistry) {
+        Web3jService service;
+        if ("memory".equalsIgnoreCase(ledger)) {
+            if (contractAddress == null || contractAddress.isEmpty()) {
+                log.warn("In-memory ledger has no contract to host: set blockchain.contract.address to any address");
+            }
+            service = new InMemoryEventChainNode(
+                    contractAddress == null || contractAddress.isEmpty() ? "0x0000000000000000000000000000000000000000" : contractAddress,
+                    memoryBlockTimeMs, memoryLatencyMs, memoryGasPrice, memoryInitialBalance);
+        } else {
+            service = new HttpService(networkUrl);
+        }
+        return Web3j.build(new InstrumentedWeb3jService(service, meterRegistry));
     }
 
     @Bean
@@ -0,0 +1,77 @@
+package com.eventchain.config;
+
+import com.eventchain.service.ContentStore;
+import com.eventchain.service.EmbeddedContentStore;
+import com.eventchain.service.HttpContentStore;
+import com.eventchain.service.InstrumentedContentStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class IpfsConfig {
+
+    @Value("${ipfs.store:http}")
+    private String store;
+
+    @Value("${ipfs.host:127.0.0.1}")
+    private String ipfsHost;
+
+    @Value("${ipfs.port:5001}")
+    private int ipfsPort;
+
+    @Value("${ipfs.protocol:http}")
+    private String ipfsProtocol;
+
+    @Value("${ipfs.max-in-flight:16}")
+    private int maxInFlight;
+
+    @Value("${ipfs.timeout.connect-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${ipfs.timeout.read-ms:30000}")
+    private int readTimeoutMs;
+
+    @Value("${ipfs.timeout.exists-ms:3000}")
+    private int existsTimeoutMs;
+
+    @Value("${ipfs.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ipfs.retry.backoff-ms:200}")
+    private long backoffMs;
+
+    @Value("${ipfs.embedded.data-dir:./data/ipfs}")
+    private String embeddedDataDir;
+
+    @Value("${ipfs.embedded.segment-bytes:67108864}")
+    private int embeddedSegmentBytes;
+
+    @Value("${ipfs.embedded.fsync:false}")
+    private boolean embeddedFsync;
+
+    /**
+     * Content store behind IpfsService: "http" talks to an IPFS daemon, "embedded" keeps
+     * blobs in local memory-mapped segment files (no daemon needed). Either way its
+     * operations are timed.
+     */
+    @Bean
+    public ContentStore contentStore(MeterRegistry meterRegistry) throws IOException {
+        ContentStore contentStore;
+        switch (store) {
+            case "http":
+                contentStore = new HttpContentStore(ipfsHost, ipfsPort, ipfsProtocol, maxInFlight,
+                        connectTimeoutMs, readTimeoutMs, existsTimeoutMs, maxAttempts, backoffMs);
+                break;
+            case "embedded":
+                contentStore = new EmbeddedContentStore(embeddedDataDir, embeddedSegmentBytes, embeddedFsync);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown ipfs.store: " + store + " (expected http or embedded)");
+        }
+        return new InstrumentedContentStore(contentStore, store, meterRegistry);
+    }
+}
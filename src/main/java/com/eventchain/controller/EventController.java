@@ -1,25 +1,40 @@
 package com.eventchain.controller;
 
+import com.eventchain.dto.EventBatchRequest;
+import com.eventchain.dto.EventBatchResponse;
+import com.eventchain.dto.EventPage;
 import com.eventchain.dto.EventRequest;
 import com.eventchain.dto.EventResponse;
-import com.eventchain.dto.ProofJson;
+import com.eventchain.dto.SubmissionResponse;
 import com.eventchain.dto.VerifyResponse;
 import com.eventchain.model.Event;
+import com.eventchain.service.ArtifactCache;
 import com.eventchain.service.BlockchainService;
-import com.eventchain.service.IpfsService;
-import com.eventchain.service.ProofService;
-import com.eventchain.service.QRCodeService;
+import com.eventchain.service.EventProjection;
+import com.eventchain.service.EventResponseAssembler;
+import com.eventchain.service.EventStreamService;
+import com.eventchain.service.EventSubmissionService;
+import com.eventchain.service.StageTimings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.math.BigInteger;
-import java.security.MessageDigest;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -28,102 +43,88 @@ import java.util.stream.Collectors;
 public class EventController {
 
     private final BlockchainService blockchainService;
-    private final IpfsService ipfsService;
-    private final ProofService proofService;
-    private final QRCodeService qrCodeService;
+    private final EventSubmissionService submissionService;
+    private final EventResponseAssembler assembler;
+    private final EventProjection eventProjection;
+    private final EventStreamService eventStreamService;
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @Value("${app.events.page.max-limit:100}")
+    private int maxPageLimit;
 
     @Autowired
     public EventController(BlockchainService blockchainService,
-                          IpfsService ipfsService,
-                          ProofService proofService,
-                          QRCodeService qrCodeService) {
+                          EventSubmissionService submissionService,
+                          EventResponseAssembler assembler,
+                          EventProjection eventProjection,
+                          EventStreamService eventStreamService) {
         this.blockchainService = blockchainService;
-        this.ipfsService = ipfsService;
-        this.proofService = proofService;
-        this.qrCodeService = qrCodeService;
+        this.submissionService = submissionService;
+        this.assembler = assembler;
+        this.eventProjection = eventProjection;
+        this.eventStreamService = eventStreamService;
     }
 
     /**
-     * POST /events - Upload event details to IPFS, get hash, call smart contract to store event
+     * POST /events - Upload event details to IPFS, get hash, call smart contract to store event.
+     * With {@code ?async=true} or {@code Prefer: respond-async} the request returns 202 as soon
+     * as the transaction is sent; poll GET /events/submissions/{id} for the outcome. Otherwise
+     * the response completes once the event is mined, without holding a request thread meanwhile.
      */
     @PostMapping
-    public ResponseEntity<EventResponse> createEvent(@Valid @RequestBody EventRequest request) {
-        try {
-            log.info("Creating new event: type={}", request.getEventType());
-
-            // Step 1: Upload metadata to IPFS
-            String ipfsHash = ipfsService.uploadToIpfs(request.getMetadata());
-            log.info("Metadata uploaded to IPFS with hash: {}", ipfsHash);
-
-            // Step 2: Get current event count (to determine new event index)
-            BigInteger eventCountBefore = blockchainService.getEventCount();
-            log.info("Current event count: {}", eventCountBefore);
-
-            // Step 3: Add event to blockchain
-            String txHash = blockchainService.addEvent(request.getEventType(), ipfsHash);
-            log.info("Event added to blockchain with transaction: {}", txHash);
-
-            // Step 4: Wait for transaction to be mined
-            blockchainService.waitForTransactionReceipt(txHash, 30); // Wait up to 30 seconds
-            log.info("Transaction confirmed");
-
-            // Step 5: Get new event count and verify it increased
-            BigInteger eventCountAfter = blockchainService.getEventCount();
-            log.info("New event count: {}", eventCountAfter);
-            
-            if (eventCountAfter.compareTo(eventCountBefore) <= 0) {
-                throw new RuntimeException("Event count did not increase after transaction");
+    public CompletableFuture<ResponseEntity<?>> createEvent(@Valid @RequestBody EventRequest request,
+                                                            @RequestParam(value = "async", defaultValue = "false") boolean async,
+                                                            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        log.info("Creating new event: type={}", request.getEventType());
+
+        CompletableFuture<ResponseEntity<?>> response;
+        if (async || (prefer != null && prefer.contains("respond-async"))) {
+            try {
+                SubmissionResponse submission = submissionService.submit(request.getEventType(), request.getMetadata());
+                response = CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .location(URI.create("/events/submissions/" + submission.getId()))
+                        .body(submission));
+            } catch (Exception e) {
+                response = CompletableFuture.failedFuture(e);
             }
+        } else {
+            StageTimings timings = new StageTimings();
+            response = submissionService.createEventAsync(request.getEventType(), request.getMetadata(), timings)
+                    .thenApply(event -> ResponseEntity.status(HttpStatus.CREATED)
+                            .header("Server-Timing", timings.toServerTiming())
+                            .body(event));
+        }
 
-            // Step 6: Get the new event by index (last event = count - 1)
-            BigInteger newEventIndex = eventCountAfter.subtract(BigInteger.ONE);
-            Event newEvent = blockchainService.getEvent(newEventIndex);
-            
-            // Verify it's the correct event
-            if (!ipfsHash.equals(newEvent.getMetadataHash())) {
-                // If not found at expected index, search all events
-                log.warn("Event not at expected index, searching all events");
-                List<Event> allEvents = blockchainService.getAllEvents();
-                newEvent = allEvents.stream()
-                        .filter(e -> ipfsHash.equals(e.getMetadataHash()))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("Event not found after creation"));
+        return response.exceptionally(error -> {
+            Throwable e = unwrap(error);
+            if (isBlockchainNotConfigured(e)) {
+                log.warn("Blockchain not configured. Cannot create event. Configure blockchain.contract.address in application.properties to enable blockchain features.");
+                throw new RuntimeException("Blockchain not configured. Please configure blockchain.contract.address in application.properties", e);
             }
+            log.error("Error creating event", e);
+            throw new RuntimeException("Failed to create event: " + e.getMessage(), e);
+        });
+    }
 
-            newEvent.setTransactionHash(txHash);
-
-            // Step 5: Generate event hash
-            String eventHash = generateEventHash(newEvent);
-
-            // Step 6: Generate proof JSON
-            ProofJson proofJson = proofService.generateProofJson(
-                    eventHash,
-                    newEvent.getMetadataHash(),
-                    newEvent.getActor(),
-                    newEvent.getTimestamp(),
-                    txHash
-            );
-
-            // Step 7: Generate QR code
-            String qrCodeBase64 = qrCodeService.generateQRCodeBase64(proofService.proofJsonToString(proofJson));
-
-            // Step 8: Build response
-            EventResponse response = EventResponse.builder()
-                    .index(newEvent.getIndex())
-                    .actor(newEvent.getActor())
-                    .eventType(newEvent.getEventType())
-                    .metadataHash(newEvent.getMetadataHash())
-                    .timestamp(newEvent.getTimestamp())
-                    .transactionHash(newEvent.getTransactionHash())
-                    .proofJson(proofService.proofJsonToString(proofJson))
-                    .qrCodeBase64(qrCodeBase64)
-                    .build();
-
+    /**
+     * POST /events/stream?eventType= - Create an event from the raw request body as metadata.
+     * The body is streamed to IPFS as it arrives instead of being buffered first.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<EventResponse> createEventFromStream(@RequestParam("eventType") String eventType,
+                                                               InputStream metadata) {
+        if (eventType.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            log.info("Creating new event from streamed metadata: type={}", eventType);
+            EventResponse response = submissionService.createEventFromStream(eventType, metadata);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
         } catch (IllegalStateException e) {
             if (e.getMessage() != null && e.getMessage().contains("Blockchain contract address")) {
-                log.warn("Blockchain not configured. Cannot create event. Configure blockchain.contract.address in application.properties to enable blockchain features.");
+                log.warn("Blockchain not configured. Cannot create event.");
                 throw new RuntimeException("Blockchain not configured. Please configure blockchain.contract.address in application.properties", e);
             }
             log.error("Error creating event", e);
@@ -135,47 +136,63 @@ public class EventController {
     }
 
     /**
-     * GET /events - Fetch all events from blockchain
+     * POST /events/batch - Create many events with parallel IPFS uploads and multi-event transactions.
+     * The confirmed events come back without inline QR codes unless {@code includeQr=true}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<EventBatchResponse> createEvents(
+            @Valid @RequestBody EventBatchRequest request,
+            @RequestParam(value = "includeQr", defaultValue = "false") boolean includeQr) {
+        try {
+            log.info("Creating batch of {} events", request.getEvents().size());
+            EventBatchResponse response = submissionService.createEvents(request.getEvents(), includeQr);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (IllegalStateException e) {
+            if (e.getMessage() != null && e.getMessage().contains("Blockchain contract address")) {
+                log.warn("Blockchain not configured. Cannot create events.");
+                throw new RuntimeException("Blockchain not configured. Please configure blockchain.contract.address in application.properties", e);
+            }
+            log.error("Error creating event batch", e);
+            throw new RuntimeException("Failed to create events: " + e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error creating event batch", e);
+            throw new RuntimeException("Failed to create events: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * GET /events/submissions/{id} - Status of an asynchronous event submission
+     */
+    @GetMapping("/submissions/{id}")
+    public ResponseEntity<SubmissionResponse> getSubmission(@PathVariable("id") String id) {
+        SubmissionResponse submission = submissionService.getSubmission(id);
+        return submission != null ? ResponseEntity.ok(submission) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * GET /events/submissions/{id}/stream - Server-sent status updates until the submission finishes
+     */
+    @GetMapping(value = "/submissions/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSubmission(@PathVariable("id") String id) {
+        SseEmitter emitter = submissionService.subscribe(id);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * GET /events - Fetch all events (served from the local projection once it is in sync)
      */
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
+    public ResponseEntity<List<EventResponse>> getAllEvents(
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr) {
         try {
             log.info("Fetching all events");
 
-            List<Event> events = blockchainService.getAllEvents();
-
-            List<EventResponse> responses = events.stream()
-                    .map(event -> {
-                        try {
-                            String eventHash = generateEventHash(event);
-                            ProofJson proofJson = proofService.generateProofJson(
-                                    eventHash,
-                                    event.getMetadataHash(),
-                                    event.getActor(),
-                                    event.getTimestamp(),
-                                    event.getTransactionHash() != null ? event.getTransactionHash() : ""
-                            );
-                            String qrCodeBase64 = qrCodeService.generateQRCodeBase64(
-                                    proofService.proofJsonToString(proofJson)
-                            );
-
-                            return EventResponse.builder()
-                                    .index(event.getIndex())
-                                    .actor(event.getActor())
-                                    .eventType(event.getEventType())
-                                    .metadataHash(event.getMetadataHash())
-                                    .timestamp(event.getTimestamp())
-                                    .transactionHash(event.getTransactionHash())
-                                    .proofJson(proofService.proofJsonToString(proofJson))
-                                    .qrCodeBase64(qrCodeBase64)
-                                    .build();
-                        } catch (Exception e) {
-                            log.error("Error processing event {}", event.getIndex(), e);
-                            return null;
-                        }
-                    })
-                    .filter(response -> response != null)
-                    .collect(Collectors.toList());
+            List<Event> events = eventProjection.isSynced()
+                    ? eventProjection.getAll()
+                    : blockchainService.getAllEvents();
+
+            List<EventResponse> responses = assembler.toEventResponses(events, includeQr);
 
             return ResponseEntity.ok(responses);
 
@@ -194,128 +211,302 @@ public class EventController {
     }
 
     /**
-     * GET /events/{id} - Fetch single event by index
+     * GET /events/stream - Stream events as newline-delimited JSON, one line per event as soon
+     * as it is assembled. With {@code follow=true} the stream stays open and newly mined events
+     * are appended.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable("id") BigInteger id) {
+    @GetMapping("/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamEventsNdjson(
+            @RequestParam(value = "fromIndex", defaultValue = "0") BigInteger fromIndex,
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr,
+            @RequestParam(value = "follow", defaultValue = "false") boolean follow) {
+        if (fromIndex.signum() < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Streaming events as NDJSON: fromIndex={}, follow={}", fromIndex, follow);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(eventStreamService.streamNdjson(fromIndex, includeQr, follow));
+    }
+
+    /**
+     * GET /events/stream with {@code Accept: text/event-stream} - Stream events as server-sent
+     * events (SSE id = event index); {@code follow=true} keeps the stream open for new events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEventsSse(
+            @RequestParam(value = "fromIndex", required = false) BigInteger fromIndex,
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr,
+            @RequestParam(value = "follow", defaultValue = "false") boolean follow,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        // A reconnecting EventSource resumes after the last event it received
+        if (fromIndex == null) {
+            fromIndex = BigInteger.ZERO;
+            if (lastEventId != null) {
+                try {
+                    fromIndex = new BigInteger(lastEventId.trim()).add(BigInteger.ONE);
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring invalid Last-Event-ID: {}", lastEventId);
+                }
+            }
+        }
+        if (fromIndex.signum() < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Streaming events as SSE: fromIndex={}, follow={}", fromIndex, follow);
+        return ResponseEntity.ok(eventStreamService.streamSse(fromIndex, includeQr, follow));
+    }
+
+    /**
+     * GET /events?fromIndex=&limit= - Fetch one page of events in index order
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<EventPage> getEventPage(
+            @RequestParam(value = "fromIndex", defaultValue = "0") BigInteger fromIndex,
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr) {
+        if (cursor != null) {
+            fromIndex = decodeCursor(cursor);
+        }
+        if (fromIndex == null || fromIndex.signum() < 0 || limit <= 0 || limit > maxPageLimit) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            log.info("Fetching event at index: {}", id);
-
-            Event event = blockchainService.getEvent(id);
-
-            String eventHash = generateEventHash(event);
-            ProofJson proofJson = proofService.generateProofJson(
-                    eventHash,
-                    event.getMetadataHash(),
-                    event.getActor(),
-                    event.getTimestamp(),
-                    event.getTransactionHash() != null ? event.getTransactionHash() : ""
-            );
-            String qrCodeBase64 = qrCodeService.generateQRCodeBase64(
-                    proofService.proofJsonToString(proofJson)
-            );
-
-            EventResponse response = EventResponse.builder()
-                    .index(event.getIndex())
-                    .actor(event.getActor())
-                    .eventType(event.getEventType())
-                    .metadataHash(event.getMetadataHash())
-                    .timestamp(event.getTimestamp())
-                    .transactionHash(event.getTransactionHash())
-                    .proofJson(proofService.proofJsonToString(proofJson))
-                    .qrCodeBase64(qrCodeBase64)
+            log.info("Fetching events page: fromIndex={}, limit={}", fromIndex, limit);
+
+            List<Event> events;
+            BigInteger total;
+            if (eventProjection.isSynced()) {
+                total = BigInteger.valueOf(eventProjection.size());
+                events = fromIndex.compareTo(total) < 0
+                        ? eventProjection.getRange(fromIndex.intValue(), limit)
+                        : List.of();
+            } else {
+                BlockchainService.EventSlice slice = blockchainService.getEvents(fromIndex, limit);
+                total = slice.total();
+                events = slice.events();
+            }
+
+            List<EventResponse> responses = assembler.toEventResponses(events, includeQr);
+
+            BigInteger next = fromIndex.add(BigInteger.valueOf(events.size()));
+            EventPage page = EventPage.builder()
+                    .events(responses)
+                    .total(total)
+                    .nextCursor(!events.isEmpty() && next.compareTo(total) < 0 ? encodeCursor(next) : null)
                     .build();
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(page);
 
         } catch (IllegalStateException e) {
             if (e.getMessage() != null && e.getMessage().contains("Blockchain contract address")) {
-                log.debug("Blockchain not configured. Cannot fetch event.");
-                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                        .body(null);
+                log.debug("Blockchain not configured. Returning empty event page.");
+                return ResponseEntity.ok(EventPage.builder()
+                        .events(List.of())
+                        .total(BigInteger.ZERO)
+                        .build());
             }
-            log.error("Error fetching event {}", id, e);
-            throw new RuntimeException("Failed to fetch event: " + e.getMessage(), e);
+            log.error("Error fetching events page", e);
+            throw new RuntimeException("Failed to fetch events: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("Error fetching event {}", id, e);
-            throw new RuntimeException("Failed to fetch event: " + e.getMessage(), e);
+            log.error("Error fetching events page", e);
+            throw new RuntimeException("Failed to fetch events: " + e.getMessage(), e);
         }
     }
 
     /**
-     * GET /verify/{hash} - Verify if a given event hash exists on-chain
+     * GET /events?cursor= - Fetch the page following a previous page's nextCursor
      */
-    @GetMapping("/verify/{hash}")
-    public ResponseEntity<VerifyResponse> verifyHash(@PathVariable("hash") String hash) {
-        try {
-            log.info("Verifying hash: {}", hash);
+    @GetMapping(params = {"cursor", "!limit"})
+    public ResponseEntity<EventPage> getEventPageByCursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr) {
+        return getEventPage(BigInteger.ZERO, maxPageLimit, cursor, includeQr);
+    }
 
-            boolean exists = blockchainService.verifyHash(hash);
+    /**
+     * GET /events?fromIndex= - Fetch a page of the largest size starting at fromIndex, rather
+     * than letting the request fall through to the whole ledger
+     */
+    @GetMapping(params = {"fromIndex", "!limit", "!cursor"})
+    public ResponseEntity<EventPage> getEventPageFromIndex(
+            @RequestParam("fromIndex") BigInteger fromIndex,
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr) {
+        return getEventPage(fromIndex, maxPageLimit, null, includeQr);
+    }
 
-            VerifyResponse response = VerifyResponse.builder()
-                    .exists(exists)
-                    .message(exists ? "Hash verified and exists on-chain" : "Hash not found on-chain")
-                    .build();
+    /**
+     * GET /events/{id} - Fetch single event by index
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<EventResponse>> getEventById(
+            @PathVariable("id") BigInteger id,
+            @RequestParam(value = "includeQr", defaultValue = "true") boolean includeQr) {
+        log.info("Fetching event at index: {}", id);
 
-            if (exists) {
-                // Get all events to find the index
-                List<Event> events = blockchainService.getAllEvents();
-                Event foundEvent = events.stream()
-                        .filter(e -> hash.equals(e.getMetadataHash()))
-                        .findFirst()
-                        .orElse(null);
-                if (foundEvent != null) {
-                    response.setIndex(foundEvent.getIndex());
-                }
+        Event projected = eventProjection.isSynced() ? eventProjection.get(id) : null;
+        CompletableFuture<Event> event;
+        try {
+            event = projected != null
+                    ? CompletableFuture.completedFuture(projected)
+                    : blockchainService.getEventAsync(id);
+        } catch (Exception e) {
+            event = CompletableFuture.failedFuture(e);
+        }
+
+        return event
+                .thenCompose(found -> assembler.toEventResponseAsync(found, includeQr))
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(error -> {
+                    Throwable e = unwrap(error);
+                    if (isBlockchainNotConfigured(e)) {
+                        log.debug("Blockchain not configured. Cannot fetch event.");
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .body(null);
+                    }
+                    log.error("Error fetching event {}", id, e);
+                    throw new RuntimeException("Failed to fetch event: " + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * GET /events/{id}/qr.png - Proof QR code as a PNG image.
+     * Mined events never change, so once the transaction hash is part of the proof the
+     * image is served with a strong ETag and an immutable Cache-Control.
+     */
+    @GetMapping(value = "/{id}/qr.png", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getEventQrCode(
+            @PathVariable("id") BigInteger id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            Event event = findEvent(id);
+
+            // One cache lookup per request: the QR code is rendered from these artifacts
+            ArtifactCache.Artifacts proof = assembler.getProofArtifacts(event);
+            boolean complete = event.getTransactionHash() != null;
+            String etag = "\"" + proof.getEventHash() + (complete ? "" : "-notx") + "\"";
+            String cacheControl = complete ? IMMUTABLE_CACHE_CONTROL : "no-cache";
+
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                        .build();
             }
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_PNG)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .body(assembler.toQrCodePng(event, proof));
 
         } catch (IllegalStateException e) {
             if (e.getMessage() != null && e.getMessage().contains("Blockchain contract address")) {
-                log.debug("Blockchain not configured. Cannot verify hash.");
-                VerifyResponse response = VerifyResponse.builder()
-                        .exists(false)
-                        .message("Blockchain not configured. Please configure blockchain.contract.address in application.properties")
-                        .build();
-                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+                log.debug("Blockchain not configured. Cannot render QR code.");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
             }
-            log.error("Error verifying hash {}", hash, e);
-            throw new RuntimeException("Failed to verify hash: " + e.getMessage(), e);
+            log.error("Error rendering QR code for event {}", id, e);
+            throw new RuntimeException("Failed to render QR code: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("Error verifying hash {}", hash, e);
-            throw new RuntimeException("Failed to verify hash: " + e.getMessage(), e);
+            log.error("Error rendering QR code for event {}", id, e);
+            throw new RuntimeException("Failed to render QR code: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Generate a unique hash for an event
+     * GET /verify/{hash} - Verify if a given event hash exists on-chain
      */
-    private String generateEventHash(Event event) {
+    @GetMapping("/verify/{hash}")
+    public CompletableFuture<ResponseEntity<VerifyResponse>> verifyHash(@PathVariable("hash") String hash) {
+        log.info("Verifying hash: {}", hash);
+
+        // The projection answers without a round trip; anything it has not seen yet
+        // (e.g. mined in the current block) is resolved by the contract's verifyHash tuple
+        int projectedIndex = eventProjection.indexOf(hash);
+        CompletableFuture<BigInteger> index;
         try {
-            String data = event.getActor() + 
-                         event.getEventType() + 
-                         event.getMetadataHash() + 
-                         event.getTimestamp().toString() + 
-                         event.getIndex().toString();
-            
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(data.getBytes("UTF-8"));
-            
-            StringBuilder hexString = new StringBuilder("0x");
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString();
+            index = projectedIndex >= 0
+                    ? CompletableFuture.completedFuture(BigInteger.valueOf(projectedIndex))
+                    : blockchainService.findEventIndexAsync(hash);
         } catch (Exception e) {
-            log.error("Error generating event hash", e);
-            throw new RuntimeException("Failed to generate event hash", e);
+            index = CompletableFuture.failedFuture(e);
         }
+
+        return index
+                .thenApply(found -> {
+                    boolean exists = found != null;
+                    VerifyResponse response = VerifyResponse.builder()
+                            .exists(exists)
+                            .index(found)
+                            .message(exists ? "Hash verified and exists on-chain" : "Hash not found on-chain")
+                            .build();
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(error -> {
+                    Throwable e = unwrap(error);
+                    if (isBlockchainNotConfigured(e)) {
+                        log.debug("Blockchain not configured. Cannot verify hash.");
+                        VerifyResponse response = VerifyResponse.builder()
+                                .exists(false)
+                                .message("Blockchain not configured. Please configure blockchain.contract.address in application.properties")
+                                .build();
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+                    }
+                    log.error("Error verifying hash {}", hash, e);
+                    throw new RuntimeException("Failed to verify hash: " + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * Look up an event by index, from the projection when possible
+     */
+    private Event findEvent(BigInteger id) throws Exception {
+        Event event = eventProjection.isSynced() ? eventProjection.get(id) : null;
+        return event != null ? event : blockchainService.getEvent(id);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static boolean isBlockchainNotConfigured(Throwable e) {
+        return e instanceof IllegalStateException
+                && e.getMessage() != null && e.getMessage().contains("Blockchain contract address");
     }
-}
 
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Opaque page cursor: base64url of "v1:" followed by the next event index
+     */
+    private String encodeCursor(BigInteger nextIndex) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("v1:" + nextIndex).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private BigInteger decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return decoded.startsWith("v1:") ? new BigInteger(decoded.substring(3)) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid page cursor: {}", cursor);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One addEvents transaction of a batch: the request entries it carries, its hash once
+ * sent and whether it was mined
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventBatchChunk {
+    private List<Integer> entries;
+    private String transactionHash;
+    private String status;
+    private String error;
+}
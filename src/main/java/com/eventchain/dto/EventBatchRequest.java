@@ -0,0 +1,13 @@
+package com.eventchain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class EventBatchRequest {
+    @NotEmpty(message = "At least one event is required")
+    private List<@Valid EventRequest> events;
+}
@@ -0,0 +1,19 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventBatchResponse {
+    private List<EventResponse> events;
+    private List<String> transactionHashes;
+    private List<EventBatchChunk> chunks;
+    private List<String> errors;
+}
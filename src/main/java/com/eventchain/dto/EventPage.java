@@ -0,0 +1,19 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPage {
+    private List<EventResponse> events;
+    private BigInteger total;
+    private String nextCursor;
+}
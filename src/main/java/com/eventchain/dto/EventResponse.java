@@ -20,5 +20,6 @@ public class EventResponse {
     private String transactionHash;
     private String proofJson;
     private String qrCodeBase64;
+    private String qrCodeUrl;
 }
 
@@ -0,0 +1,20 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionResponse {
+    private String id;
+    private String status;
+    private String eventType;
+    private String metadataHash;
+    private String transactionHash;
+    private EventResponse event;
+    private String error;
+}
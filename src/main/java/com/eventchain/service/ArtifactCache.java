@@ -0,0 +1,191 @@
+package com.eventchain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * Size-bounded LRU cache of the derived artifacts of an event (event hash, proof JSON
+ * and QR PNG).
+ *
+ * Mined events never change, so an entry keyed by (index, metadata hash) stays valid
+ * for as long as the transaction hash it was built with matches. Eviction is driven by
+ * the approximate byte size of the entries rather than their count. With
+ * {@code off-heap} enabled the PNG bytes live in direct buffers outside the Java heap.
+ */
+@Slf4j
+@Component
+public class ArtifactCache {
+
+    /** Rough fixed cost of an entry: key, map node, entry object and strings' headers */
+    private static final int ENTRY_OVERHEAD = 200;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final boolean offHeap;
+
+    private final LinkedHashMap<Key, Artifacts> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ArtifactCache(@Value("${app.artifacts.cache.enabled:true}") boolean enabled,
+                         @Value("${app.artifacts.cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${app.artifacts.cache.off-heap:false}") boolean offHeap,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled && maxBytes > 0;
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+
+        hits = Counter.builder("eventchain.artifacts.cache.hits")
+                .description("Event artifact lookups served from the cache")
+                .register(meterRegistry);
+        misses = Counter.builder("eventchain.artifacts.cache.misses")
+                .description("Event artifact lookups that had to be computed")
+                .register(meterRegistry);
+        evictions = Counter.builder("eventchain.artifacts.cache.evictions")
+                .description("Event artifacts evicted to stay within max-bytes")
+                .register(meterRegistry);
+        Gauge.builder("eventchain.artifacts.cache.size", this, ArtifactCache::size)
+                .description("Events with cached artifacts")
+                .register(meterRegistry);
+        Gauge.builder("eventchain.artifacts.cache.bytes", this, ArtifactCache::bytes)
+                .description("Approximate size of the cached artifacts")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        log.info("Event artifact cache: enabled={}, max-bytes={}, off-heap={}", this.enabled, maxBytes, offHeap);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Return the cached artifacts for the event, or null. An entry built for a different
+     * transaction hash (e.g. before the hash was known) counts as a miss.
+     */
+    public Artifacts get(BigInteger index, String metadataHash, String transactionHash) {
+        if (!enabled) {
+            return null;
+        }
+        Artifacts artifacts;
+        synchronized (this) {
+            artifacts = entries.get(new Key(index, metadataHash));
+        }
+        if (artifacts != null && Objects.equals(artifacts.transactionHash, transactionHash)) {
+            hits.increment();
+            return artifacts;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache the artifacts of an event. {@code qrCodePng} may be null when only the
+     * proof was built; a later put with the PNG replaces the entry.
+     */
+    public Artifacts put(BigInteger index, String metadataHash, String transactionHash,
+                         String eventHash, String proofJson, byte[] qrCodePng) {
+        Artifacts artifacts = new Artifacts(transactionHash, eventHash, proofJson, storePng(qrCodePng));
+        if (!enabled || artifacts.weight > maxBytes) {
+            return artifacts;
+        }
+        synchronized (this) {
+            Artifacts previous = entries.put(new Key(index, metadataHash), artifacts);
+            if (previous != null) {
+                bytes -= previous.weight;
+            }
+            bytes += artifacts.weight;
+            Iterator<Artifacts> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        return artifacts;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private ByteBuffer storePng(byte[] png) {
+        if (png == null) {
+            return null;
+        }
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(png.length) : ByteBuffer.allocate(png.length);
+        buffer.put(png).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private record Key(BigInteger index, String metadataHash) {
+    }
+
+    /**
+     * Immutable artifacts of one event
+     */
+    public static final class Artifacts {
+        private final String transactionHash;
+        private final String eventHash;
+        private final String proofJson;
+        private final ByteBuffer qrCodePng;
+        private final long weight;
+
+        private Artifacts(String transactionHash, String eventHash, String proofJson, ByteBuffer qrCodePng) {
+            this.transactionHash = transactionHash;
+            this.eventHash = eventHash;
+            this.proofJson = proofJson;
+            this.qrCodePng = qrCodePng;
+            this.weight = ENTRY_OVERHEAD
+                    + 2L * (eventHash.length() + proofJson.length()
+                    + (transactionHash != null ? transactionHash.length() : 0))
+                    + (qrCodePng != null ? qrCodePng.capacity() : 0);
+        }
+
+        public String getEventHash() {
+            return eventHash;
+        }
+
+        public String getProofJson() {
+            return proofJson;
+        }
+
+        public boolean hasQrCodePng() {
+            return qrCodePng != null;
+        }
+
+        /**
+         * Copy of the PNG bytes, or null if the QR code was not rendered yet
+         */
+        public byte[] getQrCodePng() {
+            if (qrCodePng == null) {
+                return null;
+            }
+            byte[] png = new byte[qrCodePng.capacity()];
+            qrCodePng.duplicate().get(png);
+            return png;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefills {@link ArtifactCache} with the newest events once the projection has caught
+ * up after startup, so the first requests for recent events don't pay for QR rendering.
+ */
+@Slf4j
+@Component
+public class ArtifactCacheWarmer {
+
+    private final EventProjection projection;
+    private final EventResponseAssembler assembler;
+    private final ArtifactCache artifactCache;
+
+    @Value("${app.artifacts.cache.warm-up:0}")
+    private int warmUpCount;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    public ArtifactCacheWarmer(EventProjection projection, EventResponseAssembler assembler,
+                               ArtifactCache artifactCache) {
+        this.projection = projection;
+        this.assembler = assembler;
+        this.artifactCache = artifactCache;
+    }
+
+    @EventListener
+    public void onNewBlock(NewBlockEvent newBlock) {
+        if (warmUpCount <= 0 || !artifactCache.isEnabled() || !projection.isSynced()
+                || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "artifact-cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        int size = projection.size();
+        int from = Math.max(0, size - warmUpCount);
+        List<Event> events = projection.getRange(from, size - from);
+        long start = System.currentTimeMillis();
+        int warmed = 0;
+        // Oldest to newest: if the cache is smaller than warm-up, the newest events survive LRU eviction
+        for (Event event : events) {
+            try {
+                assembler.toQrCodePng(event);
+                warmed++;
+            } catch (Exception e) {
+                log.debug("Artifact warm-up skipped event {}: {}", event.getIndex(), e.getMessage());
+            }
+        }
+        log.info("Artifact cache warmed with {} events in {} ms", warmed, System.currentTimeMillis() - start);
+    }
+}
@@ -1,20 +1,32 @@
 package com.eventchain.service;
 
 import com.eventchain.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.*;
+import org.web3j.abi.datatypes.generated.Bytes32;
 import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.EthFilter;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
+import org.web3j.tx.Contract;
 import org.web3j.tx.gas.DefaultGasProvider;
+import org.web3j.utils.Numeric;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -22,28 +34,78 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 public class BlockchainService {
 
+    /**
+     * EventAdded(uint256 indexed index, address indexed actor, string eventType,
+     *            string metadataHash, uint256 timestamp, bytes32 indexed eventHash)
+     */
+    public static final org.web3j.abi.datatypes.Event EVENT_ADDED = new org.web3j.abi.datatypes.Event(
+            "EventAdded",
+            Arrays.asList(
+                    new TypeReference<Uint256>(true) {},
+                    new TypeReference<Address>(true) {},
+                    new TypeReference<Utf8String>() {},
+                    new TypeReference<Utf8String>() {},
+                    new TypeReference<Uint256>() {},
+                    new TypeReference<Bytes32>(true) {}
+            )
+    );
+
+    public static final String EVENT_ADDED_TOPIC = EventEncoder.encode(EVENT_ADDED);
+
+    private static final int MAX_NONCE_RETRIES = 3;
+
     private final Web3j web3j;
+    private final RpcBatcher rpcBatcher;
+    private final NonceManager nonceManager;
+    private final ChainStateMonitor chainStateMonitor;
+    private final ReceiptTracker receiptTracker;
     private final Credentials credentials;
     private final String contractAddress;
     private final BigInteger gasLimit;
-
-    public BlockchainService(Web3j web3j, Credentials credentials, 
+    private final BigInteger batchBaseGas;
+    private final BigInteger batchGasPerEvent;
+    private final int batchMaxEventsPerTransaction;
+    private final Timer gasPriceTimer;
+    private final Timer nonceTimer;
+    private final Timer signTimer;
+
+    public BlockchainService(Web3j web3j, RpcBatcher rpcBatcher, NonceManager nonceManager,
+                           ChainStateMonitor chainStateMonitor, ReceiptTracker receiptTracker,
+                           Credentials credentials,
                            @Value("${blockchain.contract.address:}") String contractAddress,
-                           @Value("${blockchain.gas.limit:3000000}") BigInteger gasLimit) {
+                           @Value("${blockchain.gas.limit:3000000}") BigInteger gasLimit,
+                           @Value("${blockchain.batch.base-gas:60000}") BigInteger batchBaseGas,
+                           @Value("${blockchain.batch.gas-per-event:250000}") BigInteger batchGasPerEvent,
+                           @Value("${blockchain.batch.max-events-per-tx:50}") int batchMaxEventsPerTransaction,
+                           MeterRegistry meterRegistry) {
         this.web3j = web3j;
+        this.rpcBatcher = rpcBatcher;
+        this.nonceManager = nonceManager;
+        this.chainStateMonitor = chainStateMonitor;
+        this.receiptTracker = receiptTracker;
         this.credentials = credentials;
         this.contractAddress = contractAddress;
         this.gasLimit = gasLimit;
+        this.gasPriceTimer = prepareTimer(meterRegistry, "gas-price");
+        this.nonceTimer = prepareTimer(meterRegistry, "nonce");
+        this.signTimer = prepareTimer(meterRegistry, "sign");
         if (contractAddress == null || contractAddress.isEmpty()) {
             log.warn("Blockchain contract address is not configured. Blockchain features will not be available.");
             log.warn("Please configure 'blockchain.contract.address' in application.properties");
         }
         log.info("Gas limit configured: {}", gasLimit);
+        this.batchBaseGas = batchBaseGas;
+        this.batchGasPerEvent = batchGasPerEvent;
+        this.batchMaxEventsPerTransaction = batchMaxEventsPerTransaction;
     }
     
     private void checkContractAddress() {
@@ -56,28 +118,19 @@ public class BlockchainService {
      * Add an event to the blockchain
      */
     public String addEvent(String eventType, String metadataHash) throws Exception {
+        return RpcBatcher.await(addEventAsync(eventType, metadataHash));
+    }
+
+    /**
+     * Add an event to the blockchain without blocking; completes with the transaction hash
+     * once the node has accepted the transaction
+     */
+    public CompletableFuture<String> addEventAsync(String eventType, String metadataHash) {
         checkContractAddress();
         log.info("Adding event to blockchain: type={}, hash={}", eventType, metadataHash);
         log.info("Using contract address: {}", contractAddress);
         log.info("Using account address: {}", credentials.getAddress());
 
-        // Check account balance
-        EthGetBalance balanceResponse = web3j.ethGetBalance(
-                credentials.getAddress(), DefaultBlockParameterName.LATEST).send();
-        
-        if (balanceResponse.hasError()) {
-            log.warn("Failed to get account balance: {}", balanceResponse.getError().getMessage());
-        } else {
-            BigInteger balance = balanceResponse.getBalance();
-            BigInteger ethDivisor = BigInteger.valueOf(1000000000000000000L);
-            BigInteger ethBalance = balance.divide(ethDivisor);
-            log.info("Account balance: {} Wei ({} ETH)", balance, ethBalance);
-            
-            if (balance.compareTo(BigInteger.ZERO) == 0) {
-                log.warn("Account balance is zero. Transaction may fail due to insufficient funds.");
-            }
-        }
-
         // Prepare the function call
         Function function = new Function(
                 "addEvent",
@@ -90,113 +143,122 @@ public class BlockchainService {
 
         String encodedFunction = FunctionEncoder.encode(function);
 
-        // Get nonce
-        EthGetTransactionCount ethGetTransactionCount = web3j.ethGetTransactionCount(
-                credentials.getAddress(), DefaultBlockParameterName.LATEST).send();
-        
-        if (ethGetTransactionCount.hasError()) {
-            throw new RuntimeException("Failed to get transaction count: " + ethGetTransactionCount.getError().getMessage());
-        }
-        
-        BigInteger nonce = ethGetTransactionCount.getTransactionCount();
-        log.debug("Transaction nonce: {}", nonce);
-
-        // Get gas price
-        EthGasPrice ethGasPrice = web3j.ethGasPrice().send();
-        
-        if (ethGasPrice.hasError()) {
-            throw new RuntimeException("Failed to get gas price: " + ethGasPrice.getError().getMessage());
+        // Gas price comes from the chain monitor's cache (refreshed every block)
+        BigInteger gasPrice;
+        try {
+            gasPrice = gasPrice();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        
-        BigInteger gasPrice = ethGasPrice.getGasPrice();
         log.debug("Gas price: {} Wei", gasPrice);
 
-        // Build transaction
-        org.web3j.tx.RawTransactionManager transactionManager = 
-                new org.web3j.tx.RawTransactionManager(web3j, credentials);
-        
         // Use configured gas limit (default: 3,000,000 for Ganache compatibility)
         // Ganache's default block gas limit is ~6.7M, but using 3M is safer
         log.info("Using gas limit: {} (configured in application.properties)", gasLimit);
-        
-        // Send transaction
-        EthSendTransaction ethSendTransaction = transactionManager.sendTransaction(
-                gasPrice,
-                gasLimit,
-                contractAddress,
-                encodedFunction,
-                BigInteger.ZERO
-        );
-
-        // Check for errors in the response
-        if (ethSendTransaction.hasError()) {
-            String errorMessage = ethSendTransaction.getError().getMessage();
-            String errorCode = String.valueOf(ethSendTransaction.getError().getCode());
-            log.error("Transaction failed: code={}, message={}", errorCode, errorMessage);
-            throw new RuntimeException("Failed to send transaction: " + errorMessage + " (code: " + errorCode + ")");
-        }
-
-        String txHash = ethSendTransaction.getTransactionHash();
-        
-        if (txHash == null || txHash.isEmpty()) {
-            log.error("Transaction hash is null or empty. Response: {}", ethSendTransaction);
-            throw new RuntimeException("Transaction hash is null. Transaction may not have been sent successfully.");
-        }
 
-        log.info("Transaction sent successfully: {}", txHash);
-        return txHash;
+        return sendTransactionAsync(encodedFunction, gasPrice, gasLimit, 1)
+                .thenApply(txHash -> {
+                    log.info("Transaction sent successfully: {}", txHash);
+                    return txHash;
+                });
     }
 
     /**
-     * Get a single event by index
+     * Warm everything a transaction needs (gas price, nonce) so a following
+     * {@link #addEvent} goes straight to signing and sending. Meant to run while
+     * other work, such as the IPFS upload, is in progress.
      */
-    public Event getEvent(BigInteger index) throws Exception {
+    public void prepareTransaction() throws IOException {
         checkContractAddress();
-        log.info("Fetching event at index: {}", index);
-
-        Function function = new Function(
-                "getEvent",
-                Arrays.asList(new Uint256(index)),
-                Arrays.asList(
-                        new TypeReference<Address>() {},
-                        new TypeReference<Utf8String>() {},
-                        new TypeReference<Utf8String>() {},
-                        new TypeReference<Uint256>() {}
-                )
-        );
+        chainStateMonitor.getGasPrice();
+        nonceManager.prepare();
+    }
 
-        String encodedFunction = FunctionEncoder.encode(function);
+    /**
+     * One addEvents transaction: entries {@code [from, to)} and its hash, or the error
+     * that kept it from being sent
+     */
+    public record SentChunk(int from, int to, String txHash, String error) {
+    }
 
-        EthCall response = web3j.ethCall(
-                Transaction.createEthCallTransaction(
-                        credentials.getAddress(),
-                        contractAddress,
-                        encodedFunction
-                ),
-                DefaultBlockParameterName.LATEST
-        ).send();
+    /**
+     * Add several events using the contract's addEvents function. Entries are packed
+     * into as few transactions as the gas limit allows ({@link #getEventsPerTransaction()}
+     * per transaction); one result is returned per chunk, in order. Once a chunk fails to
+     * send the rest are not attempted, and those already sent are still reported.
+     */
+    public List<SentChunk> addEvents(List<String> eventTypes, List<String> metadataHashes) throws Exception {
+        checkContractAddress();
+        if (eventTypes.size() != metadataHashes.size()) {
+            throw new IllegalArgumentException("Event types and metadata hashes must have the same size");
+        }
+        int perTransaction = getEventsPerTransaction();
+        log.info("Adding {} events to blockchain in chunks of {}", eventTypes.size(), perTransaction);
+
+        BigInteger gasPrice = gasPrice();
+        List<SentChunk> chunks = new ArrayList<>();
+        String failure = null;
+        for (int from = 0; from < eventTypes.size(); from += perTransaction) {
+            int to = Math.min(from + perTransaction, eventTypes.size());
+            if (failure != null) {
+                chunks.add(new SentChunk(from, to, null, "Not sent: " + failure));
+                continue;
+            }
+            List<Utf8String> types = new ArrayList<>(to - from);
+            List<Utf8String> hashes = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                types.add(new Utf8String(eventTypes.get(i)));
+                hashes.add(new Utf8String(metadataHashes.get(i)));
+            }
 
-        if (response.hasError()) {
-            throw new RuntimeException("Error calling contract: " + response.getError().getMessage());
+            Function function = new Function(
+                    "addEvents",
+                    Arrays.asList(
+                            new DynamicArray<>(Utf8String.class, types),
+                            new DynamicArray<>(Utf8String.class, hashes)
+                    ),
+                    Collections.emptyList()
+            );
+            BigInteger chunkGasLimit = batchBaseGas
+                    .add(batchGasPerEvent.multiply(BigInteger.valueOf(to - from)))
+                    .min(gasLimit);
+
+            try {
+                String txHash = sendTransaction(FunctionEncoder.encode(function), gasPrice, chunkGasLimit);
+                log.info("Batch transaction sent for events {}..{}: {}", from, to - 1, txHash);
+                chunks.add(new SentChunk(from, to, txHash, null));
+            } catch (Exception e) {
+                log.error("Failed to send batch transaction for events {}..{}", from, to - 1, e);
+                failure = "transaction for entries " + from + ".." + (to - 1) + " failed: " + e.getMessage();
+                chunks.add(new SentChunk(from, to, null, e.getMessage()));
+            }
         }
+        return chunks;
+    }
 
-        List<Type> decoded = FunctionReturnDecoder.decode(
-                response.getValue(),
-                function.getOutputParameters()
-        );
+    /**
+     * Number of events packed into one addEvents transaction under the configured gas limit
+     */
+    public int getEventsPerTransaction() {
+        int byGas = gasLimit.subtract(batchBaseGas).divide(batchGasPerEvent).intValue();
+        return Math.max(1, Math.min(byGas, batchMaxEventsPerTransaction));
+    }
 
-        if (decoded.isEmpty()) {
-            throw new RuntimeException("No data returned from contract");
-        }
+    /**
+     * Get a single event by index
+     */
+    public Event getEvent(BigInteger index) throws Exception {
+        return RpcBatcher.await(getEventAsync(index));
+    }
 
-        Event event = new Event();
-        event.setIndex(index);
-        event.setActor(((Address) decoded.get(0)).getValue());
-        event.setEventType(((Utf8String) decoded.get(1)).getValue());
-        event.setMetadataHash(((Utf8String) decoded.get(2)).getValue());
-        event.setTimestamp(((Uint256) decoded.get(3)).getValue());
+    /**
+     * Get a single event by index without blocking
+     */
+    public CompletableFuture<Event> getEventAsync(BigInteger index) {
+        checkContractAddress();
+        log.info("Fetching event at index: {}", index);
 
-        return event;
+        return submitCall(getEventFunction(index)).thenApply(response -> decodeEvent(index, response));
     }
 
     /**
@@ -206,70 +268,72 @@ public class BlockchainService {
         checkContractAddress();
         log.info("Fetching all events from blockchain");
 
-        Function function = new Function(
-                "getAllEvents",
-                Collections.emptyList(),
-                Arrays.asList(
-                        new TypeReference<DynamicArray<Address>>() {},
-                        new TypeReference<DynamicArray<Utf8String>>() {},
-                        new TypeReference<DynamicArray<Utf8String>>() {},
-                        new TypeReference<DynamicArray<Uint256>>() {}
-                )
-        );
+        EthCall response = RpcBatcher.await(submitCall(getAllEventsFunction()));
+        return EventAbiDecoder.decodeAllEvents(callValue(response));
+    }
 
-        String encodedFunction = FunctionEncoder.encode(function);
+    /**
+     * Up to {@code limit} events from {@code fromIndex} and the ledger's event count, read
+     * by the same JSON-RPC batch
+     */
+    public record EventSlice(BigInteger total, List<Event> events) {
+    }
 
-        EthCall response = web3j.ethCall(
-                Transaction.createEthCallTransaction(
-                        credentials.getAddress(),
-                        contractAddress,
-                        encodedFunction
-                ),
-                DefaultBlockParameterName.LATEST
-        ).send();
+    /**
+     * Get up to {@code limit} events starting at {@code fromIndex}, reading only that slice.
+     * The count and every getEvent call go out in a single JSON-RPC batch; calls past the
+     * end of the ledger revert and are dropped. The count comes back with the events, so
+     * callers need no separate getEventCount round trip.
+     */
+    public EventSlice getEvents(BigInteger fromIndex, int limit) throws Exception {
+        checkContractAddress();
+        log.info("Fetching events {}..{}", fromIndex, fromIndex.add(BigInteger.valueOf(limit)));
 
-        if (response.hasError()) {
-            throw new RuntimeException("Error calling contract: " + response.getError().getMessage());
+        Function countFunction = getEventCountFunction();
+        CompletableFuture<EthCall> countFuture = submitCall(countFunction);
+        List<CompletableFuture<EthCall>> futures = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            futures.add(submitCall(getEventFunction(fromIndex.add(BigInteger.valueOf(i)))));
         }
 
-        List<Type> decoded = FunctionReturnDecoder.decode(
-                response.getValue(),
-                function.getOutputParameters()
-        );
+        List<Type> countDecoded = decodeCall(RpcBatcher.await(countFuture), countFunction);
+        BigInteger count = countDecoded.isEmpty() ? BigInteger.ZERO : ((Uint256) countDecoded.get(0)).getValue();
+        int available = count.subtract(fromIndex).max(BigInteger.ZERO).min(BigInteger.valueOf(limit)).intValue();
 
-        if (decoded.isEmpty()) {
-            return new ArrayList<>();
+        List<Event> events = new ArrayList<>(available);
+        for (int i = 0; i < available; i++) {
+            events.add(decodeEvent(fromIndex.add(BigInteger.valueOf(i)), RpcBatcher.await(futures.get(i))));
         }
+        return new EventSlice(count, events);
+    }
 
-        @SuppressWarnings("unchecked")
-        DynamicArray<Address> actors = (DynamicArray<Address>) decoded.get(0);
-        @SuppressWarnings("unchecked")
-        DynamicArray<Utf8String> eventTypes = (DynamicArray<Utf8String>) decoded.get(1);
-        @SuppressWarnings("unchecked")
-        DynamicArray<Utf8String> metadataHashes = (DynamicArray<Utf8String>) decoded.get(2);
-        @SuppressWarnings("unchecked")
-        DynamicArray<Uint256> timestamps = (DynamicArray<Uint256>) decoded.get(3);
+    /**
+     * Verify if a metadata hash exists on-chain
+     */
+    public boolean verifyHash(String metadataHash) throws Exception {
+        return findEventIndex(metadataHash) != null;
+    }
 
-        List<Event> events = new ArrayList<>();
-        int size = actors.getValue().size();
-
-        for (int i = 0; i < size; i++) {
-            Event event = new Event();
-            event.setIndex(BigInteger.valueOf(i));
-            event.setActor(actors.getValue().get(i).getValue());
-            event.setEventType(eventTypes.getValue().get(i).getValue());
-            event.setMetadataHash(metadataHashes.getValue().get(i).getValue());
-            event.setTimestamp(timestamps.getValue().get(i).getValue());
-            events.add(event);
-        }
+    /**
+     * Verify if a metadata hash exists on-chain without blocking
+     */
+    public CompletableFuture<Boolean> verifyHashAsync(String metadataHash) {
+        return findEventIndexAsync(metadataHash).thenApply(index -> index != null);
+    }
 
-        return events;
+    /**
+     * Look up the index of the event with the given metadata hash using the contract's
+     * verifyHash tuple; returns null if the hash is not on-chain
+     */
+    public BigInteger findEventIndex(String metadataHash) throws Exception {
+        return RpcBatcher.await(findEventIndexAsync(metadataHash));
     }
 
     /**
-     * Verify if a metadata hash exists on-chain
+     * Look up the index of the event with the given metadata hash without blocking;
+     * completes with null if the hash is not on-chain
      */
-    public boolean verifyHash(String metadataHash) throws Exception {
+    public CompletableFuture<BigInteger> findEventIndexAsync(String metadataHash) {
         checkContractAddress();
         log.info("Verifying hash: {}", metadataHash);
 
@@ -282,100 +346,323 @@ public class BlockchainService {
                 )
         );
 
-        String encodedFunction = FunctionEncoder.encode(function);
+        return submitCall(function).thenApply(response -> {
+            List<Type> decoded = decodeCall(response, function);
+            if (decoded.isEmpty() || !((Bool) decoded.get(0)).getValue()) {
+                return null;
+            }
+            return ((Uint256) decoded.get(1)).getValue();
+        });
+    }
 
-        EthCall response = web3j.ethCall(
-                Transaction.createEthCallTransaction(
-                        credentials.getAddress(),
-                        contractAddress,
-                        encodedFunction
-                ),
-                DefaultBlockParameterName.LATEST
-        ).send();
+    /**
+     * Get the total number of events
+     */
+    public BigInteger getEventCount() throws Exception {
+        return RpcBatcher.await(getEventCountAsync());
+    }
+
+    /**
+     * Get the total number of events without blocking
+     */
+    public CompletableFuture<BigInteger> getEventCountAsync() {
+        checkContractAddress();
+        log.debug("Fetching event count");
 
+        Function function = getEventCountFunction();
+        return submitCall(function).thenApply(response -> {
+            List<Type> decoded = decodeCall(response, function);
+            return decoded.isEmpty() ? BigInteger.ZERO : ((Uint256) decoded.get(0)).getValue();
+        });
+    }
+
+    /**
+     * Wait for transaction to be mined and return receipt
+     */
+    public TransactionReceipt waitForTransactionReceipt(String txHash, int timeoutSeconds) throws Exception {
+        return RpcBatcher.await(waitForTransactionReceiptAsync(txHash, timeoutSeconds));
+    }
+
+    /**
+     * Receipt of a transaction once it is mined; completes exceptionally if it is not
+     * mined within the timeout. No thread waits in the meantime.
+     */
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(String txHash, int timeoutSeconds) {
+        checkContractAddress();
+        log.info("Waiting for transaction receipt: {}", txHash);
+
+        return receiptTracker.track(txHash).copy()
+                .orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        // Other callers may wait on the same tracked future; only this one gives up
+                        receiptTracker.untrack(txHash);
+                        throw new RuntimeException("Transaction not mined after " + timeoutSeconds + " seconds");
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Get transaction receipt to extract transaction hash details
+     */
+    public TransactionReceipt getTransactionReceipt(String txHash) throws IOException {
+        EthGetTransactionReceipt receipt = rpcBatcher.send(web3j.ethGetTransactionReceipt(txHash));
+        return receipt.getTransactionReceipt().orElse(null);
+    }
+
+    /**
+     * Get the latest block number
+     */
+    public BigInteger getBlockNumber() throws IOException {
+        EthBlockNumber response = rpcBatcher.send(web3j.ethBlockNumber());
         if (response.hasError()) {
-            throw new RuntimeException("Error calling contract: " + response.getError().getMessage());
+            throw new RuntimeException("Failed to get block number: " + response.getError().getMessage());
         }
+        return response.getBlockNumber();
+    }
+
+    /**
+     * Fetch EventAdded logs emitted by the contract in the given (inclusive) block range
+     */
+    public List<Event> getEventAddedLogs(BigInteger fromBlock, BigInteger toBlock) throws Exception {
+        checkContractAddress();
+        log.debug("Fetching EventAdded logs for blocks {}..{}", fromBlock, toBlock);
 
-        List<Type> decoded = FunctionReturnDecoder.decode(
-                response.getValue(),
-                function.getOutputParameters()
+        EthFilter filter = new EthFilter(
+                DefaultBlockParameter.valueOf(fromBlock),
+                DefaultBlockParameter.valueOf(toBlock),
+                contractAddress
         );
+        filter.addSingleTopic(EVENT_ADDED_TOPIC);
 
-        if (decoded.isEmpty()) {
-            return false;
+        EthLog response = rpcBatcher.send(web3j.ethGetLogs(filter));
+        if (response.hasError()) {
+            throw new RuntimeException("Failed to get logs: " + response.getError().getMessage());
         }
 
-        return ((Bool) decoded.get(0)).getValue();
+        List<Event> events = new ArrayList<>();
+        for (EthLog.LogResult<?> result : response.getLogs()) {
+            events.add(decodeEventAddedLog((Log) result.get()));
+        }
+        return events;
     }
 
     /**
-     * Get the total number of events
+     * Hash of the block at {@code number}, or null if the node has no such block
      */
-    public BigInteger getEventCount() throws Exception {
-        checkContractAddress();
-        log.debug("Fetching event count");
+    public CompletableFuture<String> getBlockHashAsync(BigInteger number) {
+        return rpcBatcher.submit(web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(number), false))
+                .thenApply(response -> {
+                    if (response.hasError()) {
+                        throw new RuntimeException("Failed to get block " + number + ": " + response.getError().getMessage());
+                    }
+                    return response.getBlock() != null ? response.getBlock().getHash() : null;
+                });
+    }
 
-        Function function = new Function(
+    /**
+     * Decode an EventAdded log into an Event
+     */
+    public Event decodeEventAddedLog(Log eventLog) {
+        EventValues values = Contract.staticExtractEventParameters(EVENT_ADDED, eventLog);
+        if (values == null) {
+            throw new IllegalArgumentException("Log is not an EventAdded log: " + eventLog.getTopics());
+        }
+
+        Event event = new Event();
+        event.setIndex(((Uint256) values.getIndexedValues().get(0)).getValue());
+        event.setActor(((Address) values.getIndexedValues().get(1)).getValue());
+        event.setEventType(((Utf8String) values.getNonIndexedValues().get(0)).getValue());
+        event.setMetadataHash(((Utf8String) values.getNonIndexedValues().get(1)).getValue());
+        event.setTimestamp(((Uint256) values.getNonIndexedValues().get(2)).getValue());
+        event.setTransactionHash(eventLog.getTransactionHash());
+
+        String loggedHash = Numeric.toHexString(((Bytes32) values.getIndexedValues().get(2)).getValue());
+        if (!loggedHash.equals(EventHasher.hashHex(event))) {
+            log.warn("Event #{} in {} logged eventHash {} but its fields hash to {}",
+                    event.getIndex(), event.getTransactionHash(), loggedHash, EventHasher.hashHex(event));
+        }
+        return event;
+    }
+
+    /**
+     * Sign and send a contract transaction with a nonce from the {@link NonceManager}.
+     * Nonce rejections resync the manager and retry with a fresh nonce.
+     */
+    private String sendTransaction(String encodedFunction, BigInteger gasPrice, BigInteger gasLimit) throws IOException {
+        return RpcBatcher.await(sendTransactionAsync(encodedFunction, gasPrice, gasLimit, 1));
+    }
+
+    private CompletableFuture<String> sendTransactionAsync(String encodedFunction, BigInteger gasPrice,
+                                                           BigInteger gasLimit, int attempt) {
+        BigInteger nonce;
+        try {
+            long start = System.nanoTime();
+            nonce = nonceManager.allocate();
+            nonceTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        log.debug("Transaction nonce: {}", nonce);
+
+        RawTransaction rawTransaction = RawTransaction.createTransaction(
+                nonce, gasPrice, gasLimit, contractAddress, BigInteger.ZERO, encodedFunction);
+        long signStart = System.nanoTime();
+        String signedTransaction = Numeric.toHexString(TransactionEncoder.signMessage(rawTransaction, credentials));
+        signTimer.record(System.nanoTime() - signStart, TimeUnit.NANOSECONDS);
+
+        return rpcBatcher.submit(web3j.ethSendRawTransaction(signedTransaction))
+                .handle((ethSendTransaction, error) -> {
+                    if (error != null) {
+                        // The node may or may not have seen the transaction; a reuse of the
+                        // nonce is rejected as a nonce error if it did
+                        nonceManager.release(nonce);
+                        return CompletableFuture.<String>failedFuture(error);
+                    }
+
+                    // Check for errors in the response
+                    if (ethSendTransaction.hasError()) {
+                        String errorMessage = ethSendTransaction.getError().getMessage();
+                        String errorCode = String.valueOf(ethSendTransaction.getError().getCode());
+                        // Either way the allocated nonce was not consumed
+                        if (NonceManager.isNonceError(errorMessage)) {
+                            nonceManager.invalidate(nonce);
+                        } else {
+                            nonceManager.release(nonce);
+                        }
+                        if (NonceManager.isNonceError(errorMessage) && attempt < MAX_NONCE_RETRIES) {
+                            log.warn("Nonce {} rejected ({}), resyncing and retrying", nonce, errorMessage);
+                            return sendTransactionAsync(encodedFunction, gasPrice, gasLimit, attempt + 1);
+                        }
+                        log.error("Transaction failed: code={}, message={}", errorCode, errorMessage);
+                        return CompletableFuture.<String>failedFuture(new RuntimeException(
+                                "Failed to send transaction: " + errorMessage + " (code: " + errorCode + ")"));
+                    }
+
+                    String txHash = ethSendTransaction.getTransactionHash();
+
+                    if (txHash == null || txHash.isEmpty()) {
+                        nonceManager.release(nonce);
+                        log.error("Transaction hash is null or empty. Response: {}", ethSendTransaction);
+                        return CompletableFuture.<String>failedFuture(new RuntimeException(
+                                "Transaction hash is null. Transaction may not have been sent successfully."));
+                    }
+                    nonceManager.sent(nonce);
+                    return CompletableFuture.completedFuture(txHash);
+                })
+                .thenCompose(result -> result);
+    }
+
+    private Function getEventFunction(BigInteger index) {
+        return new Function(
+                "getEvent",
+                Arrays.asList(new Uint256(index)),
+                Arrays.asList(
+                        new TypeReference<Address>() {},
+                        new TypeReference<Utf8String>() {},
+                        new TypeReference<Utf8String>() {},
+                        new TypeReference<Uint256>() {}
+                )
+        );
+    }
+
+    /**
+     * The gas price from the chain monitor's cache, which refreshes it when it is stale
+     */
+    private BigInteger gasPrice() throws IOException {
+        long start = System.nanoTime();
+        BigInteger gasPrice = chainStateMonitor.getGasPrice();
+        gasPriceTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return gasPrice;
+    }
+
+    private static Timer prepareTimer(MeterRegistry registry, String step) {
+        return Timer.builder("eventchain.tx.prepare")
+                .description("Transaction preparation before it is sent")
+                .tag("step", step)
+                .register(registry);
+    }
+
+    private static Function getAllEventsFunction() {
+        return new Function(
+                "getAllEvents",
+                Collections.emptyList(),
+                Arrays.asList(
+                        new TypeReference<DynamicArray<Address>>() {},
+                        new TypeReference<DynamicArray<Utf8String>>() {},
+                        new TypeReference<DynamicArray<Utf8String>>() {},
+                        new TypeReference<DynamicArray<Uint256>>() {}
+                )
+        );
+    }
+
+    private Function getEventCountFunction() {
+        return new Function(
                 "getEventCount",
                 Collections.emptyList(),
                 Arrays.asList(new TypeReference<Uint256>() {})
         );
+    }
 
+    /**
+     * Queue a read-only contract call for the next JSON-RPC batch
+     */
+    private CompletableFuture<EthCall> submitCall(Function function) {
         String encodedFunction = FunctionEncoder.encode(function);
-
-        EthCall response = web3j.ethCall(
+        Request<?, EthCall> request = web3j.ethCall(
                 Transaction.createEthCallTransaction(
                         credentials.getAddress(),
                         contractAddress,
                         encodedFunction
                 ),
                 DefaultBlockParameterName.LATEST
-        ).send();
-
-        if (response.hasError()) {
-            throw new RuntimeException("Error calling contract: " + response.getError().getMessage());
-        }
-
-        List<Type> decoded = FunctionReturnDecoder.decode(
-                response.getValue(),
-                function.getOutputParameters()
         );
+        return rpcBatcher.submit(request);
+    }
+
+    private List<Type> decodeCall(EthCall response, Function function) {
+        return FunctionReturnDecoder.decode(callValue(response), function.getOutputParameters());
+    }
 
-        if (decoded.isEmpty()) {
-            return BigInteger.ZERO;
+    private Event decodeEvent(BigInteger index, EthCall response) {
+        Event event = EventAbiDecoder.decodeEvent(index, callValue(response));
+        if (event == null) {
+            throw new RuntimeException("No data returned from contract");
         }
+        return event;
+    }
 
-        return ((Uint256) decoded.get(0)).getValue();
+    private static String callValue(EthCall response) {
+        if (response.hasError()) {
+            throw new RuntimeException("Error calling contract: " + response.getError().getMessage());
+        }
+        return response.getValue();
     }
 
     /**
-     * Wait for transaction to be mined and return receipt
+     * Decode every EventAdded log emitted by this contract in a transaction receipt.
+     * The events are fully populated (index, actor, type, hash, block timestamp and
+     * transaction hash), so callers need no further contract reads.
      */
-    public TransactionReceipt waitForTransactionReceipt(String txHash, int maxAttempts) throws Exception {
-        checkContractAddress();
-        log.info("Waiting for transaction receipt: {}", txHash);
-        
-        for (int i = 0; i < maxAttempts; i++) {
-            EthGetTransactionReceipt receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-            if (receiptResponse.getTransactionReceipt().isPresent()) {
-                TransactionReceipt receipt = receiptResponse.getTransactionReceipt().get();
-                log.info("Transaction mined in block: {}", receipt.getBlockNumber());
-                return receipt;
+    public List<Event> decodeEventAddedLogs(TransactionReceipt receipt) {
+        List<Event> events = new ArrayList<>();
+        for (Log eventLog : receipt.getLogs()) {
+            if (contractAddress.equalsIgnoreCase(eventLog.getAddress())
+                    && !eventLog.getTopics().isEmpty()
+                    && EVENT_ADDED_TOPIC.equals(eventLog.getTopics().get(0))) {
+                events.add(decodeEventAddedLog(eventLog));
             }
-            Thread.sleep(1000); // Wait 1 second between attempts
-            log.debug("Transaction not mined yet, attempt {}/{}", i + 1, maxAttempts);
         }
-        
-        throw new RuntimeException("Transaction not mined after " + maxAttempts + " attempts");
+        return events;
     }
 
-    /**
-     * Get transaction receipt to extract transaction hash details
-     */
-    public TransactionReceipt getTransactionReceipt(String txHash) throws IOException {
-        EthGetTransactionReceipt receipt = web3j.ethGetTransactionReceipt(txHash).send();
-        return receipt.getTransactionReceipt().orElse(null);
+    public String getContractAddress() {
+        return contractAddress;
     }
-}
 
+    public boolean isContractConfigured() {
+        return contractAddress != null && !contractAddress.isEmpty();
+    }
+}
@@ -0,0 +1,160 @@
+package com.eventchain.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Follows the chain head and keeps the gas price and signer balance cached.
+ *
+ * Each new block triggers one batched refresh of gas price and balance and a
+ * {@link NewBlockEvent} for block-driven components, so the write path reads the
+ * gas price from memory instead of asking the node on every transaction.
+ */
+@Slf4j
+@Service
+public class ChainStateMonitor {
+
+    private static final BigInteger WEI_PER_ETH = BigInteger.TEN.pow(18);
+
+    private final Web3j web3j;
+    private final RpcBatcher rpcBatcher;
+    private final Credentials credentials;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${chain.monitor.gas-price-max-age-ms:15000}")
+    private long gasPriceMaxAgeMs;
+
+    @Value("${chain.monitor.low-balance-wei:100000000000000000}")
+    private BigInteger lowBalanceWei;
+
+    private volatile BigInteger blockNumber;
+    private volatile BigInteger gasPrice;
+    private volatile long gasPriceUpdatedAt;
+    private volatile BigInteger balance;
+    private volatile boolean lowBalance;
+    private volatile boolean nodeReachable = true;
+
+    public ChainStateMonitor(Web3j web3j, RpcBatcher rpcBatcher, Credentials credentials,
+                             ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.web3j = web3j;
+        this.rpcBatcher = rpcBatcher;
+        this.credentials = credentials;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("eventchain.chain.block", this, m -> toDouble(m.blockNumber))
+                .description("Latest block number seen by the chain monitor")
+                .register(meterRegistry);
+        Gauge.builder("eventchain.chain.gas.price", this, m -> toDouble(m.gasPrice))
+                .description("Cached gas price")
+                .baseUnit("wei")
+                .register(meterRegistry);
+        Gauge.builder("eventchain.signer.balance", this, m -> toDouble(m.balance))
+                .description("Cached balance of the signing account")
+                .baseUnit("wei")
+                .register(meterRegistry);
+        Gauge.builder("eventchain.signer.balance.low", this, m -> m.lowBalance ? 1 : 0)
+                .description("1 while the signer balance is below chain.monitor.low-balance-wei")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Poll the chain head; on a new block refresh the cached state and notify listeners
+     */
+    @Scheduled(fixedDelayString = "${chain.monitor.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            EthBlockNumber response = rpcBatcher.send(web3j.ethBlockNumber());
+            if (response.hasError()) {
+                throw new IOException(response.getError().getMessage());
+            }
+            if (!nodeReachable) {
+                log.info("Blockchain node is reachable again");
+                nodeReachable = true;
+            }
+
+            BigInteger head = response.getBlockNumber();
+            if (head.equals(blockNumber)) {
+                return;
+            }
+            blockNumber = head;
+            refresh();
+            eventPublisher.publishEvent(new NewBlockEvent(head));
+        } catch (IOException e) {
+            if (nodeReachable) {
+                log.warn("Chain monitor cannot reach the blockchain node: {}", e.getMessage());
+                nodeReachable = false;
+            }
+        } catch (Exception e) {
+            log.warn("Chain monitor poll failed: {}", e.getMessage());
+            log.debug("Chain monitor failure", e);
+        }
+    }
+
+    /**
+     * Cached gas price; refreshed from the node if it is older than chain.monitor.gas-price-max-age-ms
+     */
+    public BigInteger getGasPrice() throws IOException {
+        if (gasPrice == null || System.currentTimeMillis() - gasPriceUpdatedAt > gasPriceMaxAgeMs) {
+            log.debug("Cached gas price is stale, refreshing");
+            refresh();
+        }
+        return gasPrice;
+    }
+
+    public BigInteger getBalance() {
+        return balance;
+    }
+
+    public BigInteger getBlockNumber() {
+        return blockNumber;
+    }
+
+    private void refresh() throws IOException {
+        // Gas price and balance are independent: fetch them in one JSON-RPC batch
+        CompletableFuture<EthGasPrice> gasPriceFuture = rpcBatcher.submit(web3j.ethGasPrice());
+        CompletableFuture<EthGetBalance> balanceFuture = rpcBatcher.submit(web3j.ethGetBalance(
+                credentials.getAddress(), DefaultBlockParameterName.LATEST));
+
+        EthGasPrice ethGasPrice = RpcBatcher.await(gasPriceFuture);
+        if (ethGasPrice.hasError()) {
+            throw new RuntimeException("Failed to get gas price: " + ethGasPrice.getError().getMessage());
+        }
+        gasPrice = ethGasPrice.getGasPrice();
+        gasPriceUpdatedAt = System.currentTimeMillis();
+
+        EthGetBalance balanceResponse = RpcBatcher.await(balanceFuture);
+        if (balanceResponse.hasError()) {
+            log.warn("Failed to get account balance: {}", balanceResponse.getError().getMessage());
+            return;
+        }
+        balance = balanceResponse.getBalance();
+
+        boolean low = balance.compareTo(lowBalanceWei) < 0;
+        if (low && !lowBalance) {
+            log.warn("Signer {} balance is low: {} Wei ({} ETH). Transactions may fail due to insufficient funds.",
+                    credentials.getAddress(), balance, balance.divide(WEI_PER_ETH));
+        } else if (!low && lowBalance) {
+            log.info("Signer {} balance restored: {} Wei", credentials.getAddress(), balance);
+        }
+        lowBalance = low;
+    }
+
+    private static double toDouble(BigInteger value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventchain.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-addressed blob storage behind {@link IpfsService}: the IPFS daemon's HTTP API
+ * or the embedded segment store, selected with {@code ipfs.store}.
+ */
+public interface ContentStore {
+
+    /**
+     * Store content and return its hash (CIDv0)
+     */
+    String add(byte[] content) throws IOException;
+
+    /**
+     * Store content read from a stream and return its hash
+     */
+    String add(InputStream content) throws IOException;
+
+    /**
+     * Return the content stored under the hash
+     */
+    byte[] get(String hash) throws IOException;
+
+    /**
+     * True if content is stored under the hash; should not transfer the content
+     */
+    boolean exists(String hash) throws IOException;
+
+    /**
+     * Throw IllegalStateException if the store cannot be used right now
+     */
+    void checkAvailable();
+}
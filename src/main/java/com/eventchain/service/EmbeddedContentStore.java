@@ -0,0 +1,218 @@
+package com.eventchain.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * In-process {@link ContentStore}: blobs are appended to memory-mapped segment files and
+ * located through an in-memory hash -> (segment, offset) index.
+ *
+ * Hashes are the CIDv0 values {@code ipfs add} would assign (see {@link UnixFsCid}), so
+ * data written here has the same hashes as on a real daemon. Segments are pre-sized and
+ * mapped once; each record is {@code [1][length:int][crc32c:int][cid:46 bytes][content]}
+ * and a zero marker ends a segment, so the index is rebuilt on startup by scanning the
+ * segments. The marker is written last and, with {@code fsync}, only after the rest of
+ * the record is on disk; the checksum over the CID and content catches a record whose
+ * pages reached the disk out of order anyway. A record cut short or torn by a crash is
+ * not indexed and is overwritten by the next append.
+ */
+@Slf4j
+public class EmbeddedContentStore implements ContentStore, Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final byte RECORD = 1;
+    private static final int CID_LENGTH = 46;
+    private static final int CID_OFFSET = 1 + 4 + 4;
+    private static final int HEADER_LENGTH = CID_OFFSET + CID_LENGTH;
+
+    private final Path dataDir;
+    private final int segmentBytes;
+    private final boolean fsync;
+
+    private final List<Segment> segments = new ArrayList<>();
+    /** CID -> segment number (high 32 bits) and record offset (low 32 bits) */
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+
+    public EmbeddedContentStore(String dataDir, int segmentBytes, boolean fsync) throws IOException {
+        this.dataDir = Paths.get(dataDir);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+
+        Files.createDirectories(this.dataDir);
+        for (int number = 0; Files.exists(segmentPath(number)); number++) {
+            Segment segment = Segment.open(segmentPath(number), 0);
+            segments.add(segment);
+            scan(number, segment);
+        }
+        log.info("Embedded content store at {}: {} blobs in {} segments", this.dataDir, index.size(), segments.size());
+    }
+
+    @Override
+    public String add(byte[] content) throws IOException {
+        String cid = UnixFsCid.of(content);
+        if (index.containsKey(cid)) {
+            return cid;
+        }
+        synchronized (this) {
+            if (index.containsKey(cid)) {
+                return cid;
+            }
+            int recordLength = HEADER_LENGTH + content.length;
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.remaining() < recordLength) {
+                segment = Segment.open(segmentPath(segments.size()), Math.max(segmentBytes, recordLength + 1));
+                segments.add(segment);
+            }
+
+            int offset = segment.position;
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(offset + 1);
+            buffer.putInt(content.length);
+            buffer.position(offset + CID_OFFSET);
+            buffer.put(cid.getBytes(StandardCharsets.US_ASCII));
+            buffer.put(content);
+            buffer.putInt(offset + 5, checksum(segment.buffer, offset + CID_OFFSET, offset + recordLength));
+            // The marker goes last so a torn record is never taken for a complete one
+            if (fsync) {
+                segment.buffer.force(offset + 1, recordLength - 1);
+            }
+            buffer.put(offset, RECORD);
+            if (fsync) {
+                segment.buffer.force(offset, 1);
+            }
+            segment.position = offset + recordLength;
+            index.put(cid, location(segments.size() - 1, offset));
+        }
+        return cid;
+    }
+
+    /**
+     * The CID is computed over the whole content, so the stream is read fully first
+     */
+    @Override
+    public String add(InputStream content) throws IOException {
+        return add(content.readAllBytes());
+    }
+
+    @Override
+    public byte[] get(String hash) throws IOException {
+        Long location = index.get(hash);
+        if (location == null) {
+            throw new IOException("Content not found: " + hash);
+        }
+        ByteBuffer buffer = segments(location).buffer.duplicate();
+        int offset = (int) (long) location;
+        byte[] content = new byte[buffer.getInt(offset + 1)];
+        buffer.position(offset + HEADER_LENGTH);
+        buffer.get(content);
+        return content;
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return index.containsKey(hash);
+    }
+
+    @Override
+    public void checkAvailable() {
+        // Always available: the store lives in this process
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            if (fsync) {
+                segment.buffer.force();
+            }
+            segment.channel.close();
+        }
+    }
+
+    private synchronized Segment segments(long location) {
+        return segments.get((int) (location >>> 32));
+    }
+
+    private void scan(int number, Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int offset = 0;
+        while (offset + HEADER_LENGTH <= buffer.capacity() && buffer.get(offset) == RECORD) {
+            int length = buffer.getInt(offset + 1);
+            if (length < 0 || offset + HEADER_LENGTH + length > buffer.capacity()) {
+                log.warn("Truncated record in {} at offset {}, ignoring the rest of the segment", segment.path, offset);
+                break;
+            }
+            if (buffer.getInt(offset + 5) != checksum(buffer, offset + CID_OFFSET, offset + HEADER_LENGTH + length)) {
+                log.warn("Torn record in {} at offset {}, ignoring the rest of the segment", segment.path, offset);
+                break;
+            }
+            byte[] cid = new byte[CID_LENGTH];
+            buffer.position(offset + CID_OFFSET);
+            buffer.get(cid);
+            index.put(new String(cid, StandardCharsets.US_ASCII), location(number, offset));
+            offset += HEADER_LENGTH + length;
+        }
+        segment.position = offset;
+    }
+
+    /**
+     * CRC32C of the CID and content bytes in {@code [from, to)}
+     */
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(to).position(from));
+        return (int) crc.getValue();
+    }
+
+    private Path segmentPath(int number) {
+        return dataDir.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static long location(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xffffffffL);
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Map a segment file; a new file is created with {@code size} bytes
+         */
+        private static Segment open(Path path, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long length = Math.max(channel.size(), size);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            return new Segment(path, channel, buffer);
+        }
+
+        private int remaining() {
+            return buffer.capacity() - position;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes the EventChain contract's event return values straight from the eth_call hex,
+ * without building web3j's {@code Type} graph first.
+ *
+ * {@code getAllEvents()} returns {@code (address[], string[], string[], uint256[])} and
+ * {@code getEvent(uint256)} returns {@code (address, string, string, uint256)}. Each word
+ * and string is read once from the hex string, offsets and lengths are bounds-checked
+ * before anything is allocated, and only the final field values are created. An actor or
+ * event type equal to the previous event's is reused rather than decoded again, so a
+ * large ledger written by one account holds one copy of its address.
+ */
+public final class EventAbiDecoder {
+
+    private static final int WORD = 32;
+    private static final int ADDRESS_LENGTH = 20;
+    private static final byte[] NIBBLES = new byte[128];
+
+    static {
+        Arrays.fill(NIBBLES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            NIBBLES["0123456789abcdef".charAt(i)] = (byte) i;
+            NIBBLES["0123456789ABCDEF".charAt(i)] = (byte) i;
+        }
+    }
+
+    /**
+     * Receives decoded events in index order
+     */
+    @FunctionalInterface
+    public interface EventSink {
+        void accept(int index, String actor, String eventType, String metadataHash, BigInteger timestamp);
+    }
+
+    private EventAbiDecoder() {
+    }
+
+    /**
+     * Decode a {@code getAllEvents()} return value into events in index order; an empty
+     * value (no contract code at the address) decodes to an empty list
+     */
+    public static List<Event> decodeAllEvents(String value) {
+        List<Event> events = new ArrayList<>(Math.max(0, allEventsCount(value)));
+        decodeAllEvents(value, (index, actor, eventType, metadataHash, timestamp) ->
+                events.add(new Event(BigInteger.valueOf(index), actor, eventType, metadataHash, timestamp, null)));
+        return events;
+    }
+
+    /**
+     * Decode a {@code getAllEvents()} return value, passing each event to {@code sink}
+     * instead of collecting them; returns the number of events
+     */
+    public static int decodeAllEvents(String value, EventSink sink) {
+        Payload payload = new Payload(value);
+        if (payload.isEmpty()) {
+            return 0;
+        }
+
+        int actors = payload.offset(0, 0);
+        int eventTypes = payload.offset(0, 1);
+        int metadataHashes = payload.offset(0, 2);
+        int timestamps = payload.offset(0, 3);
+
+        int size = payload.arrayLength(actors, 1);
+        if (payload.arrayLength(eventTypes, 2) != size
+                || payload.arrayLength(metadataHashes, 2) != size
+                || payload.arrayLength(timestamps, 1) != size) {
+            throw new IllegalArgumentException("getAllEvents arrays differ in length");
+        }
+
+        int actorsStart = actors + WORD;
+        int eventTypesStart = eventTypes + WORD;
+        int metadataHashesStart = metadataHashes + WORD;
+        int timestampsStart = timestamps + WORD;
+
+        String actor = null;
+        int actorWord = -1;
+        String eventType = null;
+        int eventTypeData = -1;
+        for (int i = 0; i < size; i++) {
+            int word = actorsStart + i * WORD;
+            if (actorWord < 0 || !payload.sameWord(word, actorWord)) {
+                actor = payload.address(word);
+            }
+            actorWord = word;
+
+            int typeData = payload.offset(eventTypesStart, i);
+            if (eventTypeData < 0 || !payload.sameString(typeData, eventTypeData)) {
+                eventType = payload.string(typeData);
+            }
+            eventTypeData = typeData;
+
+            String metadataHash = payload.string(payload.offset(metadataHashesStart, i));
+            BigInteger timestamp = payload.uint(timestampsStart + i * WORD);
+            sink.accept(i, actor, eventType, metadataHash, timestamp);
+        }
+        return size;
+    }
+
+    /**
+     * Decode a {@code getEvent(index)} return value; null if the value is empty
+     */
+    public static Event decodeEvent(BigInteger index, String value) {
+        Payload payload = new Payload(value);
+        if (payload.isEmpty()) {
+            return null;
+        }
+        Event event = new Event();
+        event.setIndex(index);
+        event.setActor(payload.address(0));
+        event.setEventType(payload.string(payload.offset(0, 1)));
+        event.setMetadataHash(payload.string(payload.offset(0, 2)));
+        event.setTimestamp(payload.uint(3 * WORD));
+        return event;
+    }
+
+    private static int allEventsCount(String value) {
+        Payload payload = new Payload(value);
+        return payload.isEmpty() ? 0 : payload.arrayLength(payload.offset(0, 0), 1);
+    }
+
+    /**
+     * ABI-encoded bytes viewed through their hex string; positions are byte offsets
+     */
+    private static final class Payload {
+        private final String hex;
+        private final int start;
+        private final int length;
+        private byte[] scratch = new byte[64];
+
+        private Payload(String value) {
+            if (value == null) {
+                value = "";
+            }
+            this.hex = value;
+            this.start = value.startsWith("0x") || value.startsWith("0X") ? 2 : 0;
+            int digits = value.length() - start;
+            if (digits % (2 * WORD) != 0) {
+                throw new IllegalArgumentException("ABI payload is not a whole number of words: " + digits + " hex digits");
+            }
+            this.length = digits / 2;
+        }
+
+        private boolean isEmpty() {
+            return length == 0;
+        }
+
+        /**
+         * The offset stored in the {@code slot}th word after {@code base}, resolved against {@code base}
+         */
+        private int offset(int base, int slot) {
+            long offset = base + smallUint(base + slot * WORD);
+            if (offset + WORD > length) {
+                throw new IllegalArgumentException("ABI offset " + offset + " is past the end of the payload");
+            }
+            return (int) offset;
+        }
+
+        /**
+         * Length of the array at {@code position}, checked against the words its elements need
+         */
+        private int arrayLength(int position, int wordsPerElement) {
+            long size = smallUint(position);
+            if (position + WORD + size * wordsPerElement * WORD > length) {
+                throw new IllegalArgumentException("ABI array of " + size + " elements does not fit in the payload");
+            }
+            return (int) size;
+        }
+
+        private String address(int position) {
+            checkWord(position);
+            int digits = hexIndex(position) + 2 * (WORD - ADDRESS_LENGTH);
+            char[] address = new char[2 + 2 * ADDRESS_LENGTH];
+            address[0] = '0';
+            address[1] = 'x';
+            for (int i = 0; i < 2 * ADDRESS_LENGTH; i++) {
+                address[2 + i] = Character.toLowerCase(hex.charAt(digits + i));
+            }
+            return new String(address);
+        }
+
+        private BigInteger uint(int position) {
+            checkWord(position);
+            int digits = hexIndex(position);
+            // Anything below 2^60 (every realistic timestamp) skips BigInteger parsing
+            if (zeros(digits, 2 * WORD - 15)) {
+                return BigInteger.valueOf(parseHex(digits + 2 * WORD - 15, 15));
+            }
+            return new BigInteger(hex.substring(digits, digits + 2 * WORD), 16);
+        }
+
+        private String string(int position) {
+            int size = stringLength(position);
+            if (scratch.length < size) {
+                scratch = new byte[Math.max(size, scratch.length * 2)];
+            }
+            int digits = hexIndex(position + WORD);
+            for (int i = 0; i < size; i++) {
+                scratch[i] = (byte) ((nibble(digits + 2 * i) << 4) | nibble(digits + 2 * i + 1));
+            }
+            return new String(scratch, 0, size, StandardCharsets.UTF_8);
+        }
+
+        private boolean sameWord(int position, int other) {
+            return hex.regionMatches(hexIndex(position), hex, hexIndex(other), 2 * WORD);
+        }
+
+        private boolean sameString(int position, int other) {
+            int size = stringLength(position);
+            return hex.regionMatches(hexIndex(position), hex, hexIndex(other), 2 * (WORD + size));
+        }
+
+        private int stringLength(int position) {
+            long size = smallUint(position);
+            if (position + WORD + size > length) {
+                throw new IllegalArgumentException("ABI string of " + size + " bytes does not fit in the payload");
+            }
+            return (int) size;
+        }
+
+        /**
+         * A word that must hold a length or offset, i.e. fit comfortably in an int
+         */
+        private long smallUint(int position) {
+            checkWord(position);
+            int digits = hexIndex(position);
+            if (!zeros(digits, 2 * WORD - 8)) {
+                throw new IllegalArgumentException("ABI length or offset at " + position + " is too large");
+            }
+            return parseHex(digits + 2 * WORD - 8, 8);
+        }
+
+        private void checkWord(int position) {
+            if (position < 0 || position + WORD > length) {
+                throw new IllegalArgumentException("ABI word at " + position + " is past the end of the payload");
+            }
+        }
+
+        private boolean zeros(int digits, int count) {
+            for (int i = 0; i < count; i++) {
+                if (hex.charAt(digits + i) != '0') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long parseHex(int digits, int count) {
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                value = (value << 4) | nibble(digits + i);
+            }
+            return value;
+        }
+
+        private int nibble(int digit) {
+            char c = hex.charAt(digit);
+            int value = c < 128 ? NIBBLES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Not a hex digit at " + digit + ": '" + c + "'");
+            }
+            return value;
+        }
+
+        private int hexIndex(int position) {
+            return start + 2 * position;
+        }
+    }
+}
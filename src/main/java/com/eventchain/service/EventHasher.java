@@ -0,0 +1,190 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * The event hash EventChain.sol emits in EventAdded:
+ * {@code keccak256(abi.encodePacked(actor, eventType, metadataHash, timestamp, index))},
+ * i.e. the 20 address bytes, the UTF-8 bytes of both strings and two 32-byte big-endian
+ * words, with no padding or length prefixes.
+ *
+ * Each thread reuses one Keccak digest, one scratch buffer for the packed bytes and one
+ * hex buffer, so {@link #hash(String, String, String, BigInteger, BigInteger, byte[])}
+ * allocates nothing and {@link #hashHex} allocates only the returned string.
+ */
+public final class EventHasher {
+
+    private static final int ADDRESS_LENGTH = 20;
+    private static final int WORD = 32;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final byte[] NIBBLES = new byte[128];
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    static {
+        Arrays.fill(NIBBLES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            NIBBLES["0123456789abcdef".charAt(i)] = (byte) i;
+            NIBBLES["0123456789ABCDEF".charAt(i)] = (byte) i;
+        }
+    }
+
+    private EventHasher() {
+    }
+
+    /**
+     * 0x-prefixed hex event hash of an event read from the contract
+     */
+    public static String hashHex(Event event) {
+        return hashHex(event.getActor(), event.getEventType(), event.getMetadataHash(),
+                event.getTimestamp(), event.getIndex());
+    }
+
+    /**
+     * 0x-prefixed hex event hash, as it appears in the EventAdded log's eventHash topic
+     */
+    public static String hashHex(String actor, String eventType, String metadataHash,
+                                 BigInteger timestamp, BigInteger index) {
+        Scratch scratch = SCRATCH.get();
+        hash(actor, eventType, metadataHash, timestamp, index, scratch.digest);
+        char[] hex = scratch.hex;
+        hex[0] = '0';
+        hex[1] = 'x';
+        for (int i = 0; i < WORD; i++) {
+            int b = scratch.digest[i] & 0xff;
+            hex[2 + 2 * i] = HEX[b >>> 4];
+            hex[3 + 2 * i] = HEX[b & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Write the 32-byte event hash into {@code out}
+     */
+    public static void hash(String actor, String eventType, String metadataHash,
+                            BigInteger timestamp, BigInteger index, byte[] out) {
+        Scratch scratch = SCRATCH.get();
+        int length = ADDRESS_LENGTH + utf8Length(eventType) + utf8Length(metadataHash) + 2 * WORD;
+        byte[] packed = scratch.packed(length);
+
+        int offset = putAddress(actor, packed, 0);
+        offset = putUtf8(eventType, packed, offset);
+        offset = putUtf8(metadataHash, packed, offset);
+        offset = putUint256(timestamp, packed, offset);
+        offset = putUint256(index, packed, offset);
+
+        KeccakDigest keccak = scratch.keccak;
+        keccak.update(packed, 0, offset);
+        keccak.doFinal(out, 0);
+    }
+
+    private static int putAddress(String address, byte[] buffer, int offset) {
+        int start = address.startsWith("0x") || address.startsWith("0X") ? 2 : 0;
+        if (address.length() - start != 2 * ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Not a 20-byte address: " + address);
+        }
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            int high = nibble(address.charAt(start + 2 * i));
+            int low = nibble(address.charAt(start + 2 * i + 1));
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException("Not a hex address: " + address);
+            }
+            buffer[offset + i] = (byte) ((high << 4) | low);
+        }
+        return offset + ADDRESS_LENGTH;
+    }
+
+    private static int nibble(char c) {
+        return c < 128 ? NIBBLES[c] : -1;
+    }
+
+    private static int putUint256(BigInteger value, byte[] buffer, int offset) {
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("uint256 cannot be negative: " + value);
+        }
+        if (value.bitLength() < Long.SIZE) {
+            long v = value.longValue();
+            for (int i = WORD - 1; i >= 0; i--) {
+                buffer[offset + i] = (byte) v;
+                v >>>= 8;
+            }
+            return offset + WORD;
+        }
+        // Rare: values beyond a long go through the two's-complement bytes
+        byte[] bytes = value.toByteArray();
+        int skip = bytes.length > WORD ? bytes.length - WORD : 0;
+        int pad = WORD - (bytes.length - skip);
+        for (int i = 0; i < pad; i++) {
+            buffer[offset + i] = 0;
+        }
+        System.arraycopy(bytes, skip, buffer, offset + pad, bytes.length - skip);
+        return offset + WORD;
+    }
+
+    private static int utf8Length(String s) {
+        int length = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length += 1;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    // Two chars, four bytes
+                    length += 2;
+                    i++;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * UTF-8 encode like {@link String#getBytes} (unpaired surrogates become '?')
+     */
+    private static int putUtf8(String s, byte[] buffer, int offset) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[offset++] = (byte) (0xc0 | (c >> 6));
+                buffer[offset++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                    buffer[offset++] = (byte) (0xf0 | (codePoint >> 18));
+                    buffer[offset++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    buffer[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    buffer[offset++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    buffer[offset++] = '?';
+                }
+            } else {
+                buffer[offset++] = (byte) (0xe0 | (c >> 12));
+                buffer[offset++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[offset++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return offset;
+    }
+
+    private static final class Scratch {
+        private final KeccakDigest keccak = new KeccakDigest(256);
+        private final byte[] digest = new byte[WORD];
+        private final char[] hex = new char[2 + 2 * WORD];
+        private byte[] packed = new byte[256];
+
+        private byte[] packed(int length) {
+            if (packed.length < length) {
+                packed = new byte[Math.max(length, packed.length * 2)];
+            }
+            return packed;
+        }
+    }
+}
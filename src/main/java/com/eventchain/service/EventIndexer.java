@@ -0,0 +1,193 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Follows the contract's EventAdded logs and keeps {@link EventProjection} up to date.
+ *
+ * On every new head the checkpointed block is checked against the node first. If the
+ * head is below it or the node has a different block at that height, the projection is
+ * rolled back to the newest recently applied block the node still has (a reorg), or,
+ * when none of them match (Ganache restarted, the memory ledger, another chain at the
+ * same URL), rebuilt from the start block.
+ *
+ * Block events arrive on the chain monitor's polling thread, which also drives receipt
+ * tracking, so catching up (possibly thousands of eth_getLogs ranges) runs on the
+ * indexer's own thread. Heads that arrive while it is busy are coalesced into one pass
+ * up to the newest.
+ */
+@Slf4j
+@Service
+public class EventIndexer {
+
+    private final BlockchainService blockchainService;
+    private final EventProjection projection;
+
+    @Value("${indexer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${indexer.start-block:0}")
+    private BigInteger startBlock;
+
+    @Value("${indexer.max-block-range:5000}")
+    private BigInteger maxBlockRange;
+
+    private volatile boolean initialized;
+
+    private final ExecutorService executor;
+    private final AtomicReference<BigInteger> latestHead = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public EventIndexer(BlockchainService blockchainService, EventProjection projection) {
+        this.blockchainService = blockchainService;
+        this.projection = projection;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "event-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Event indexer is disabled; reads will go to the blockchain node");
+        } else if (!blockchainService.isContractConfigured()) {
+            log.warn("Event indexer idle: blockchain contract address is not configured");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedule indexing up to the new head on the indexer thread
+     */
+    @EventListener
+    public void onNewBlock(NewBlockEvent newBlock) {
+        if (!enabled || !blockchainService.isContractConfigured()) {
+            return;
+        }
+        latestHead.set(newBlock.getBlockNumber());
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                // Cleared first: a head arriving during this pass schedules the next one
+                scheduled.set(false);
+                index(latestHead.get());
+            });
+        }
+    }
+
+    /**
+     * Apply the EventAdded logs of every block up to {@code head} to the projection
+     */
+    void index(BigInteger head) {
+        try {
+            if (!initialized) {
+                projection.load(blockchainService.getContractAddress());
+                initialized = true;
+            }
+            catchUp(head);
+        } catch (Exception e) {
+            log.warn("Event indexer poll failed: {}", e.getMessage());
+            log.debug("Event indexer failure", e);
+        }
+    }
+
+    private void catchUp(BigInteger head) throws Exception {
+        if (!checkpointOnChain(head)) {
+            EventProjection.Checkpoint forkPoint = lastCheckpointOnChain(head);
+            if (forkPoint != null) {
+                log.warn("Chain reorganised above block {}; rolling back {} events",
+                        forkPoint.block(), projection.size() - forkPoint.events());
+                projection.rollBack(forkPoint);
+            } else {
+                log.warn("No recently indexed block is on the chain any more; re-indexing from block {}", startBlock);
+                projection.reset();
+            }
+        }
+        BigInteger lastBlock = projection.getLastBlock();
+        BigInteger from = lastBlock != null ? lastBlock.add(BigInteger.ONE) : startBlock;
+
+        while (from.compareTo(head) <= 0) {
+            BigInteger to = from.add(maxBlockRange).subtract(BigInteger.ONE).min(head);
+            // Queued first so it shares the logs request's batch
+            CompletableFuture<String> toHash = blockchainService.getBlockHashAsync(to);
+            List<Event> events = blockchainService.getEventAddedLogs(from, to);
+            String toBlockHash = RpcBatcher.await(toHash);
+            if (toBlockHash == null) {
+                throw new IllegalStateException("Node has no block " + to + " below head " + head);
+            }
+            try {
+                projection.apply(events, to, toBlockHash);
+            } catch (IllegalStateException e) {
+                // Logs were missed (e.g. the node pruned or the data dir was edited); rebuild
+                log.warn("Projection inconsistent ({}), re-indexing from block {}", e.getMessage(), startBlock);
+                projection.reset();
+                return;
+            }
+            if (!events.isEmpty()) {
+                log.info("Indexed {} events from blocks {}..{}", events.size(), from, to);
+            }
+            from = to.add(BigInteger.ONE);
+        }
+        projection.markSynced();
+    }
+
+    /**
+     * Whether the node still has the block the projection was checkpointed at
+     */
+    private boolean checkpointOnChain(BigInteger head) throws Exception {
+        BigInteger lastBlock = projection.getLastBlock();
+        if (lastBlock == null) {
+            return true;
+        }
+        if (head.compareTo(lastBlock) < 0) {
+            log.warn("Chain head {} is behind the projection checkpoint at block {}", head, lastBlock);
+            return false;
+        }
+        String expected = projection.getLastBlockHash();
+        String actual = RpcBatcher.await(blockchainService.getBlockHashAsync(lastBlock));
+        if (expected == null || !expected.equalsIgnoreCase(actual)) {
+            log.warn("Block {} is {} on the node but {} in the projection checkpoint", lastBlock, actual, expected);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The newest recently applied block at or below the head that the node still has, or
+     * null if the projection has to be rebuilt
+     */
+    private EventProjection.Checkpoint lastCheckpointOnChain(BigInteger head) throws Exception {
+        List<EventProjection.Checkpoint> candidates = projection.getRecentCheckpoints().stream()
+                .filter(checkpoint -> checkpoint.block().compareTo(head) <= 0)
+                .toList();
+        // Queued together so they go to the node as one batch
+        List<CompletableFuture<String>> hashes = candidates.stream()
+                .map(checkpoint -> blockchainService.getBlockHashAsync(checkpoint.block()))
+                .toList();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (candidates.get(i).blockHash().equalsIgnoreCase(RpcBatcher.await(hashes.get(i)))) {
+                return candidates.get(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,415 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only local copy of the on-chain event ledger, fed by {@link EventIndexer}.
+ *
+ * Events are kept in memory in index order and appended to an NDJSON file so the
+ * projection survives restarts; a checkpoint file records the number and hash of the
+ * last block that has been fully applied, so the indexer can tell whether the node still
+ * serves the chain it was built from. Reads never touch the blockchain node.
+ *
+ * The checkpoint also keeps the last {@code indexer.max-reorg-depth} applied blocks with
+ * the event count at each, so after a reorg the indexer can roll back to the newest one
+ * still on the chain rather than rebuilding everything. Listeners are not told about
+ * rolled-back events.
+ */
+@Slf4j
+@Component
+public class EventProjection {
+
+    private static final String EVENTS_FILE = "events.ndjson";
+    private static final String CHECKPOINT_FILE = "checkpoint.properties";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Event> events = new ArrayList<>();
+    private final HashIndex hashIndex = new HashIndex(1024);
+    private final List<Consumer<List<Event>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Value("${indexer.data-dir:./data/indexer}")
+    private String dataDir;
+
+    @Value("${indexer.max-reorg-depth:64}")
+    private int maxReorgDepth;
+
+    private Path eventsFile;
+    private Path checkpointFile;
+    private String contractAddress;
+    private BigInteger lastBlock;
+    private String lastBlockHash;
+    private final Deque<Checkpoint> recent = new ArrayDeque<>();
+    private volatile boolean synced;
+
+    /**
+     * An applied block and the number of events indexed up to and including it
+     */
+    public record Checkpoint(BigInteger block, String blockHash, int events) {
+    }
+
+    @PostConstruct
+    public void init() {
+        eventsFile = Paths.get(dataDir, EVENTS_FILE);
+        checkpointFile = Paths.get(dataDir, CHECKPOINT_FILE);
+    }
+
+    /**
+     * Load the persisted projection for the given contract. A checkpoint written for a
+     * different contract is discarded and the projection starts empty.
+     */
+    public void load(String contractAddress) throws IOException {
+        lock.writeLock().lock();
+        try {
+            this.contractAddress = contractAddress;
+            this.events.clear();
+            this.hashIndex.clear();
+            this.lastBlock = null;
+            this.lastBlockHash = null;
+            this.recent.clear();
+            this.synced = false;
+
+            Files.createDirectories(eventsFile.getParent());
+            if (!Files.exists(checkpointFile)) {
+                Files.deleteIfExists(eventsFile);
+                log.info("No projection checkpoint found, indexing from scratch");
+                return;
+            }
+
+            Properties checkpoint = new Properties();
+            try (InputStream in = Files.newInputStream(checkpointFile)) {
+                checkpoint.load(in);
+            }
+            if (!contractAddress.equalsIgnoreCase(checkpoint.getProperty("contract", ""))) {
+                log.info("Projection checkpoint belongs to contract {}, indexing from scratch",
+                        checkpoint.getProperty("contract"));
+                Files.deleteIfExists(eventsFile);
+                Files.deleteIfExists(checkpointFile);
+                return;
+            }
+
+            if (Files.exists(eventsFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(eventsFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        Event event;
+                        try {
+                            event = objectMapper.readValue(line, Event.class);
+                        } catch (IOException e) {
+                            // A torn write at the end of the file; the indexer will re-apply it
+                            log.warn("Ignoring unreadable projection record after index {}", events.size() - 1);
+                            break;
+                        }
+                        if (event.getIndex().intValue() != events.size()) {
+                            log.warn("Projection record out of order at {}, truncating", events.size());
+                            break;
+                        }
+                        append(event);
+                    }
+                }
+                rewriteEventsFileIfTruncated();
+            }
+            lastBlock = new BigInteger(checkpoint.getProperty("block"));
+            lastBlockHash = checkpoint.getProperty("blockHash");
+            for (String entry : checkpoint.getProperty("recent", "").split(",")) {
+                String[] fields = entry.split(":");
+                if (fields.length == 3) {
+                    recent.addLast(new Checkpoint(new BigInteger(fields[0]), fields[1], Integer.parseInt(fields[2])));
+                }
+            }
+            if (recent.isEmpty() && lastBlockHash != null) {
+                // Written before recent blocks were recorded
+                recent.addLast(new Checkpoint(lastBlock, lastBlockHash, events.size()));
+            }
+            log.info("Loaded {} events from projection, last indexed block {}", events.size(), lastBlock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply events indexed from blocks up to and including {@code toBlock}, whose hash is
+     * {@code toBlockHash}. Events already present are skipped, so re-applying a block range
+     * is harmless.
+     */
+    public void apply(List<Event> indexed, BigInteger toBlock, String toBlockHash) throws IOException {
+        List<Event> appended = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Event event : indexed) {
+                int index = event.getIndex().intValue();
+                if (index < events.size()) {
+                    continue;
+                }
+                if (index != events.size()) {
+                    throw new IllegalStateException("Gap in indexed events: expected index "
+                            + events.size() + " but got " + index);
+                }
+                append(event);
+                appended.add(event);
+            }
+
+            if (!appended.isEmpty()) {
+                try (BufferedWriter writer = Files.newBufferedWriter(eventsFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (Event event : appended) {
+                        writer.write(objectMapper.writeValueAsString(event));
+                        writer.newLine();
+                    }
+                }
+            }
+            if (!recent.isEmpty() && recent.peekLast().block().equals(toBlock)) {
+                recent.removeLast();
+            }
+            recent.addLast(new Checkpoint(toBlock, toBlockHash, events.size()));
+            while (recent.size() > Math.max(maxReorgDepth, 1)) {
+                recent.removeFirst();
+            }
+            lastBlock = toBlock;
+            lastBlockHash = toBlockHash;
+            writeCheckpoint();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!appended.isEmpty()) {
+            for (Consumer<List<Event>> listener : listeners) {
+                try {
+                    listener.accept(appended);
+                } catch (RuntimeException e) {
+                    log.warn("Projection listener failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Register a callback for newly indexed events. It runs on the indexer thread after
+     * the events are readable, so it should hand off any real work.
+     */
+    public void addListener(Consumer<List<Event>> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<List<Event>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Recently applied blocks, newest first
+     */
+    public List<Checkpoint> getRecentCheckpoints() {
+        lock.readLock().lock();
+        try {
+            List<Checkpoint> newestFirst = new ArrayList<>(recent);
+            Collections.reverse(newestFirst);
+            return newestFirst;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the events indexed after {@code checkpoint} so indexing resumes from the block
+     * after it
+     */
+    public void rollBack(Checkpoint checkpoint) throws IOException {
+        lock.writeLock().lock();
+        try {
+            int keep = Math.min(checkpoint.events(), events.size());
+            events.subList(keep, events.size()).clear();
+            hashIndex.clear();
+            for (int i = 0; i < events.size(); i++) {
+                hashIndex.put(events.get(i).getMetadataHash(), i);
+            }
+            rewriteEventsFileIfTruncated();
+            while (!recent.isEmpty() && recent.peekLast().block().compareTo(checkpoint.block()) > 0) {
+                recent.removeLast();
+            }
+            lastBlock = checkpoint.block();
+            lastBlockHash = checkpoint.blockHash();
+            writeCheckpoint();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all indexed events and the checkpoint so indexing restarts from the start block
+     */
+    public void reset() throws IOException {
+        lock.writeLock().lock();
+        try {
+            events.clear();
+            hashIndex.clear();
+            lastBlock = null;
+            lastBlockHash = null;
+            recent.clear();
+            synced = false;
+            Files.deleteIfExists(eventsFile);
+            Files.deleteIfExists(checkpointFile);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markSynced() {
+        if (!synced) {
+            log.info("Event projection is in sync at block {} ({} events)", lastBlock, size());
+        }
+        synced = true;
+    }
+
+    /**
+     * True once the projection has caught up with the chain head at least once
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public BigInteger getLastBlock() {
+        return lastBlock;
+    }
+
+    /**
+     * Hash of {@link #getLastBlock()}; null for checkpoints written before hashes were recorded
+     */
+    public String getLastBlockHash() {
+        return lastBlockHash;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return events.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Event get(int index) {
+        lock.readLock().lock();
+        try {
+            return index >= 0 && index < events.size() ? events.get(index) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Event get(BigInteger index) {
+        return index.signum() >= 0 && index.bitLength() < 32 ? get(index.intValue()) : null;
+    }
+
+    /**
+     * Look up the index of the event with the given metadata hash, or -1 if it has not
+     * been indexed (yet)
+     */
+    public int indexOf(String metadataHash) {
+        lock.readLock().lock();
+        try {
+            return hashIndex.get(metadataHash, index -> metadataHash.equals(events.get(index).getMetadataHash()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Event> getAll() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(events);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return up to {@code limit} events starting at {@code fromIndex}
+     */
+    public List<Event> getRange(int fromIndex, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = Math.min(Math.max(fromIndex, 0), events.size());
+            int to = (int) Math.min((long) from + limit, events.size());
+            return new ArrayList<>(events.subList(from, to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(Event event) {
+        hashIndex.put(event.getMetadataHash(), events.size());
+        events.add(event);
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("contract", contractAddress);
+        checkpoint.setProperty("block", lastBlock.toString());
+        checkpoint.setProperty("blockHash", lastBlockHash);
+        StringBuilder blocks = new StringBuilder();
+        for (Checkpoint entry : recent) {
+            if (blocks.length() > 0) {
+                blocks.append(',');
+            }
+            blocks.append(entry.block()).append(':').append(entry.blockHash()).append(':').append(entry.events());
+        }
+        checkpoint.setProperty("recent", blocks.toString());
+        Path tmp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            checkpoint.store(out, "EventChain projection checkpoint");
+        }
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void rewriteEventsFileIfTruncated() throws IOException {
+        if (!Files.exists(eventsFile)) {
+            return;
+        }
+        long lines;
+        try (var stream = Files.lines(eventsFile, StandardCharsets.UTF_8)) {
+            lines = stream.filter(line -> !line.isBlank()).count();
+        }
+        if (lines == events.size()) {
+            return;
+        }
+        Path tmp = eventsFile.resolveSibling(EVENTS_FILE + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Event event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, eventsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,231 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventResponse;
+import com.eventchain.dto.ProofJson;
+import com.eventchain.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Turns on-chain events into API responses (event hash, proof JSON and QR code)
+ */
+@Slf4j
+@Service
+public class EventResponseAssembler {
+
+    private final ProofService proofService;
+    private final QRCodeService qrCodeService;
+    private final ArtifactCache artifactCache;
+    private final Timer proofTimer;
+    private final Timer qrTimer;
+
+    private final ForkJoinPool assemblyPool;
+    private final int parallelThreshold;
+
+    public EventResponseAssembler(ProofService proofService, QRCodeService qrCodeService,
+                                  ArtifactCache artifactCache,
+                                  @Value("${app.assembly.parallelism:0}") int parallelism,
+                                  @Value("${app.assembly.parallel-threshold:16}") int parallelThreshold,
+                                  MeterRegistry meterRegistry) {
+        this.proofService = proofService;
+        this.qrCodeService = qrCodeService;
+        this.artifactCache = artifactCache;
+        this.parallelThreshold = parallelThreshold;
+        this.proofTimer = renderTimer(meterRegistry, "proof");
+        this.qrTimer = renderTimer(meterRegistry, "qr");
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.assemblyPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("event-assembly-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        log.info("Event response assembly: parallelism={}, parallel threshold={}", threads, parallelThreshold);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        assemblyPool.shutdown();
+    }
+
+    /**
+     * Build the API responses for a list of events, in the same order.
+     *
+     * Hashing, proof JSON and QR rendering are CPU-bound and independent per event, so
+     * lists of at least {@code parallel-threshold} events are assembled on the dedicated
+     * work-stealing pool. An event that fails to assemble is logged and left out.
+     */
+    public List<EventResponse> toEventResponses(List<Event> events, boolean includeQr) {
+        EventResponse[] responses = new EventResponse[events.size()];
+        if (events.size() < parallelThreshold) {
+            for (int i = 0; i < responses.length; i++) {
+                responses[i] = toEventResponseOrNull(events.get(i), includeQr);
+            }
+        } else {
+            assemblyPool.submit(() -> IntStream.range(0, responses.length).parallel()
+                    .forEach(i -> responses[i] = toEventResponseOrNull(events.get(i), includeQr)))
+                    .join();
+        }
+
+        List<EventResponse> result = new ArrayList<>(responses.length);
+        for (EventResponse response : responses) {
+            if (response != null) {
+                result.add(response);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Build the API response for an event: event hash, proof JSON and proof QR code
+     */
+    public EventResponse toEventResponse(Event event) throws Exception {
+        return toEventResponse(event, true);
+    }
+
+    /**
+     * Build the API response for an event; without {@code includeQr} the inline base64 QR
+     * is left out and clients load it from {@code qrCodeUrl} when needed
+     */
+    public EventResponse toEventResponse(Event event, boolean includeQr) throws Exception {
+        ArtifactCache.Artifacts artifacts = artifacts(event, includeQr);
+        String qrCodeBase64 = includeQr ? Base64.getEncoder().encodeToString(artifacts.getQrCodePng()) : null;
+
+        return EventResponse.builder()
+                .index(event.getIndex())
+                .actor(event.getActor())
+                .eventType(event.getEventType())
+                .metadataHash(event.getMetadataHash())
+                .timestamp(event.getTimestamp())
+                .transactionHash(event.getTransactionHash())
+                .proofJson(artifacts.getProofJson())
+                .qrCodeBase64(qrCodeBase64)
+                .qrCodeUrl("/events/" + event.getIndex() + "/qr.png")
+                .build();
+    }
+
+    /**
+     * Build the API response for an event on the assembly pool, keeping CPU work off
+     * the thread that completed the event's future
+     */
+    public CompletableFuture<EventResponse> toEventResponseAsync(Event event, boolean includeQr) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return toEventResponse(event, includeQr);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, assemblyPool);
+    }
+
+    private EventResponse toEventResponseOrNull(Event event, boolean includeQr) {
+        try {
+            return toEventResponse(event, includeQr);
+        } catch (Exception e) {
+            log.error("Error processing event {}", event.getIndex(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Render the proof QR code for an event as PNG bytes
+     */
+    public byte[] toQrCodePng(Event event) throws Exception {
+        return artifacts(event, true).getQrCodePng();
+    }
+
+    /**
+     * Render the proof QR code for an event whose artifacts were already looked up with
+     * {@link #getProofArtifacts}, without a second cache lookup
+     */
+    public byte[] toQrCodePng(Event event, ArtifactCache.Artifacts proof) throws Exception {
+        return proof.hasQrCodePng() ? proof.getQrCodePng() : build(event, proof, true).getQrCodePng();
+    }
+
+    /**
+     * Event hash and proof JSON of an event, from the artifact cache when available; the
+     * QR code is not rendered
+     */
+    public ArtifactCache.Artifacts getProofArtifacts(Event event) throws Exception {
+        return artifacts(event, false);
+    }
+
+    /**
+     * Cached artifacts of the event, building (and caching) whatever is missing
+     */
+    private ArtifactCache.Artifacts artifacts(Event event, boolean withQr) throws Exception {
+        ArtifactCache.Artifacts cached = artifactCache.get(
+                event.getIndex(), event.getMetadataHash(), event.getTransactionHash());
+        if (cached != null && (!withQr || cached.hasQrCodePng())) {
+            return cached;
+        }
+        return build(event, cached, withQr);
+    }
+
+    /**
+     * Build and cache the artifacts {@code cached} lacks; {@code cached} may be null
+     */
+    private ArtifactCache.Artifacts build(Event event, ArtifactCache.Artifacts cached, boolean withQr) throws Exception {
+        String eventHash;
+        String proofJsonString;
+        if (cached != null) {
+            eventHash = cached.getEventHash();
+            proofJsonString = cached.getProofJson();
+        } else {
+            long start = System.nanoTime();
+            eventHash = generateEventHash(event);
+            proofJsonString = proofJsonString(event, eventHash);
+            proofTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        byte[] qrCodePng = null;
+        if (withQr) {
+            long start = System.nanoTime();
+            qrCodePng = qrCodeService.generateQRCodePng(proofJsonString);
+            qrTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return artifactCache.put(event.getIndex(), event.getMetadataHash(), event.getTransactionHash(),
+                eventHash, proofJsonString, qrCodePng);
+    }
+
+    private static Timer renderTimer(MeterRegistry registry, String artifact) {
+        return Timer.builder("eventchain.artifacts.render")
+                .description("Event artifact rendering on cache misses")
+                .tag("artifact", artifact)
+                .register(registry);
+    }
+
+    private String proofJsonString(Event event, String eventHash) {
+        ProofJson proofJson = proofService.generateProofJson(
+                eventHash,
+                event.getMetadataHash(),
+                event.getActor(),
+                event.getTimestamp(),
+                event.getTransactionHash() != null ? event.getTransactionHash() : ""
+        );
+        return proofService.proofJsonToString(proofJson);
+    }
+
+    /**
+     * The event's hash as the contract computes it for its EventAdded log
+     * (keccak256 over the packed actor, type, metadata hash, timestamp and index)
+     */
+    public String generateEventHash(Event event) {
+        return EventHasher.hashHex(event);
+    }
+}
@@ -0,0 +1,197 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventResponse;
+import com.eventchain.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Streams the event ledger to HTTP clients as NDJSON or server-sent events.
+ *
+ * Events are read and assembled in chunks of {@code chunk-size} and each response is
+ * written as soon as its chunk is ready, so memory per stream is bounded by one chunk
+ * regardless of ledger size. In follow mode the stream stays open after the backlog
+ * and newly indexed events are pushed as the projection picks them up.
+ */
+@Slf4j
+@Service
+public class EventStreamService {
+
+    private final BlockchainService blockchainService;
+    private final EventProjection projection;
+    private final EventResponseAssembler assembler;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.events.stream.chunk-size:32}")
+    private int chunkSize;
+
+    @Value("${app.events.stream.timeout-ms:3600000}")
+    private long timeoutMs;
+
+    private final ExecutorService executor;
+
+    public EventStreamService(BlockchainService blockchainService, EventProjection projection,
+                              EventResponseAssembler assembler, ObjectMapper objectMapper,
+                              @Value("${app.events.stream.workers:4}") int workers) {
+        this.blockchainService = blockchainService;
+        this.projection = projection;
+        this.assembler = assembler;
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "event-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stream events from {@code fromIndex} as newline-delimited JSON
+     */
+    public ResponseBodyEmitter streamNdjson(BigInteger fromIndex, boolean includeQr, boolean follow) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        start(new Subscriber(emitter, fromIndex, includeQr, follow) {
+            @Override
+            void send(EventResponse response) throws IOException {
+                byte[] json = objectMapper.writeValueAsBytes(response);
+                byte[] line = new byte[json.length + 1];
+                System.arraycopy(json, 0, line, 0, json.length);
+                line[json.length] = '\n';
+                emitter.send(line, MediaType.APPLICATION_NDJSON);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Stream events from {@code fromIndex} as server-sent events named "event", with the
+     * event index as the SSE id
+     */
+    public SseEmitter streamSse(BigInteger fromIndex, boolean includeQr, boolean follow) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        start(new Subscriber(emitter, fromIndex, includeQr, follow) {
+            @Override
+            void send(EventResponse response) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(response.getIndex().toString())
+                        .name("event")
+                        .data(response, MediaType.APPLICATION_JSON));
+            }
+        });
+        return emitter;
+    }
+
+    private void start(Subscriber subscriber) {
+        ResponseBodyEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        if (subscriber.follow) {
+            projection.addListener(subscriber);
+        }
+        subscriber.signal();
+    }
+
+    /**
+     * One open stream. Signals from the projection are coalesced so at most one drain
+     * runs per stream at a time and no event is sent twice or skipped.
+     */
+    private abstract class Subscriber implements Consumer<List<Event>> {
+        private final ResponseBodyEmitter emitter;
+        private final boolean includeQr;
+        private final boolean follow;
+        private final AtomicInteger signals = new AtomicInteger();
+        private BigInteger nextIndex;
+        private volatile boolean closed;
+
+        Subscriber(ResponseBodyEmitter emitter, BigInteger fromIndex, boolean includeQr, boolean follow) {
+            this.emitter = emitter;
+            this.nextIndex = fromIndex;
+            this.includeQr = includeQr;
+            this.follow = follow;
+        }
+
+        abstract void send(EventResponse response) throws IOException;
+
+        @Override
+        public void accept(List<Event> indexed) {
+            signal();
+        }
+
+        void signal() {
+            if (!closed && signals.getAndIncrement() == 0) {
+                executor.execute(this::drainLoop);
+            }
+        }
+
+        void close() {
+            closed = true;
+            projection.removeListener(this);
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            do {
+                drain();
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    List<Event> events = read(nextIndex, chunkSize);
+                    if (events.isEmpty()) {
+                        if (!follow) {
+                            closed = true;
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                    for (EventResponse response : assembler.toEventResponses(events, includeQr)) {
+                        send(response);
+                    }
+                    nextIndex = nextIndex.add(BigInteger.valueOf(events.size()));
+                }
+            } catch (Exception e) {
+                if (e instanceof IllegalStateException && e.getMessage() != null
+                        && e.getMessage().contains("Blockchain contract address")) {
+                    // Blockchain not configured - an empty stream, like the empty list of GET /events
+                    log.debug("Blockchain not configured. Ending event stream.");
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                log.debug("Closing event stream: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private List<Event> read(BigInteger fromIndex, int limit) throws Exception {
+            if (projection.isSynced()) {
+                Event first = projection.get(fromIndex);
+                return first != null ? projection.getRange(fromIndex.intValue(), limit) : List.of();
+            }
+            return blockchainService.getEvents(fromIndex, limit).events();
+        }
+    }
+}
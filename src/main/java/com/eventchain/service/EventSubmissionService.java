@@ -0,0 +1,481 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventBatchChunk;
+import com.eventchain.dto.EventBatchResponse;
+import com.eventchain.dto.EventRequest;
+import com.eventchain.dto.EventResponse;
+import com.eventchain.dto.SubmissionResponse;
+import com.eventchain.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the create-event pipeline: IPFS upload, transaction, confirmation and proof.
+ *
+ * Synchronous callers run every stage on their own thread. Asynchronous submissions
+ * return as soon as the transaction is sent; confirmation is then driven by the
+ * receipt tracker, proof and QR generation run on the assembly pool, and the outcome
+ * is kept under a submission id for polling or SSE subscribers.
+ */
+@Slf4j
+@Service
+public class EventSubmissionService {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_CONFIRMED = "CONFIRMED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int RECEIPT_TIMEOUT_SECONDS = 30;
+    /** Stages of {@link #createEventAsync}, as marked in its {@link StageTimings} */
+    private static final List<String> STAGES = List.of("dedupe", "ipfs", "send", "mine", "assemble");
+
+    private final BlockchainService blockchainService;
+    private final IpfsService ipfsService;
+    private final EventResponseAssembler assembler;
+    private final EventProjection eventProjection;
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final Map<String, Timer> stageTimers = new HashMap<>();
+    private final Timer createdTimer;
+    private final Timer failedTimer;
+
+    @Value("${app.submissions.retention-ms:600000}")
+    private long retentionMs;
+
+    @Value("${app.submissions.sse-timeout-ms:60000}")
+    private long sseTimeoutMs;
+
+    public EventSubmissionService(BlockchainService blockchainService,
+                                  IpfsService ipfsService,
+                                  EventResponseAssembler assembler,
+                                  EventProjection eventProjection,
+                                  @Value("${app.submissions.workers:8}") int workerCount,
+                                  MeterRegistry meterRegistry) {
+        this.blockchainService = blockchainService;
+        this.ipfsService = ipfsService;
+        this.assembler = assembler;
+        this.eventProjection = eventProjection;
+        for (String stage : STAGES) {
+            stageTimers.put(stage, Timer.builder("eventchain.events.create.stage")
+                    .description("Duration of each stage of creating an event")
+                    .tag("stage", stage)
+                    .register(meterRegistry));
+        }
+        this.createdTimer = createTimer(meterRegistry, "success");
+        this.failedTimer = createTimer(meterRegistry, "failure");
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "event-submission-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create an event and wait until it is mined
+     */
+    public EventResponse createEvent(String eventType, String metadata) throws Exception {
+        Sent sent = send(eventType, metadata);
+        return confirm(sent);
+    }
+
+    /**
+     * Create an event without blocking the caller: the IPFS upload runs on a worker, the
+     * transaction and receipt wait are asynchronous, and the future completes with the
+     * mined event's response
+     */
+    public CompletableFuture<EventResponse> createEventAsync(String eventType, String metadata) {
+        return createEventAsync(eventType, metadata, new StageTimings());
+    }
+
+    /**
+     * {@link #createEventAsync(String, String)}, recording each stage's duration
+     * (dedupe, ipfs, send, mine, assemble) in {@code timings}
+     */
+    public CompletableFuture<EventResponse> createEventAsync(String eventType, String metadata, StageTimings timings) {
+        long start = System.nanoTime();
+        CompletableFuture<EventResponse> created = CompletableFuture
+                .runAsync(() -> {
+                    try {
+                        rejectIfOnChain(ipfsService.computeHash(metadata));
+                        timings.mark("dedupe");
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, workers)
+                // Step 1: Upload metadata to IPFS
+                .thenCompose(ignored -> ipfsService.uploadToIpfsAsync(metadata))
+                // Step 2: Add event to blockchain
+                .thenCompose(ipfsHash -> {
+                    timings.mark("ipfs");
+                    return blockchainService.addEventAsync(eventType, ipfsHash)
+                            .thenApply(txHash -> {
+                                timings.mark("send");
+                                log.info("Event added to blockchain with transaction: {}", txHash);
+                                return new Sent(ipfsHash, txHash);
+                            });
+                })
+                .thenCompose(sent -> confirmAsync(sent, timings));
+
+        created.whenComplete((response, error) -> {
+            (error == null ? createdTimer : failedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            timings.forEach((stage, nanos) -> stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS));
+        });
+        return created;
+    }
+
+    private static Timer createTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("eventchain.events.create")
+                .description("Creating an event end to end (POST /events)")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Create an event from metadata streamed in the request body. The upload starts
+     * while the body is still arriving and the transaction is prepared (gas price,
+     * nonce) in the meantime, so IPFS latency overlaps chain preparation.
+     */
+    public EventResponse createEventFromStream(String eventType, InputStream metadata) throws Exception {
+        // Step 1: Upload metadata to IPFS as it arrives
+        CompletableFuture<String> upload = ipfsService.uploadStreamAsync(metadata);
+        try {
+            blockchainService.prepareTransaction();
+        } catch (Exception e) {
+            // Cancelling would not stop the upload thread, which must be done with the
+            // request body before this returns and the container recycles the request
+            try {
+                metadata.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            try {
+                upload.join();
+            } catch (CompletionException | CancellationException uploadError) {
+                log.debug("Metadata upload ended after a failed transaction preparation: {}", uploadError.getMessage());
+            }
+            throw e;
+        }
+        String ipfsHash = RpcBatcher.await(upload);
+        log.info("Metadata uploaded to IPFS with hash: {}", ipfsHash);
+        rejectIfOnChain(ipfsHash);
+
+        // Step 2: Add event to blockchain
+        String txHash = blockchainService.addEvent(eventType, ipfsHash);
+        log.info("Event added to blockchain with transaction: {}", txHash);
+
+        return confirm(new Sent(ipfsHash, txHash));
+    }
+
+    /**
+     * Create many events: metadata is uploaded to IPFS in parallel, the entries are
+     * packed into as few addEvents transactions as the gas limit allows, and all of
+     * them are confirmed together. Each transaction is reported in {@code chunks} with
+     * the request entries it carries, so a chunk that reverted, was not mined in time or
+     * was never sent does not hide the ones that made it on-chain. The confirmed events'
+     * responses are assembled together, with the QR codes only if {@code includeQr}.
+     */
+    public EventBatchResponse createEvents(List<EventRequest> requests, boolean includeQr) throws Exception {
+        log.info("Creating batch of {} events", requests.size());
+
+        List<String> ipfsHashes = ipfsService.uploadAllToIpfs(
+                requests.stream().map(EventRequest::getMetadata).toList());
+
+        // The contract reverts a whole chunk on a duplicate hash, so drop duplicates up front;
+        // until the projection has synced it may not know every hash, so ask the chain too
+        List<CompletableFuture<BigInteger>> onChain = new ArrayList<>(requests.size());
+        for (String ipfsHash : ipfsHashes) {
+            int index = eventProjection.indexOf(ipfsHash);
+            onChain.add(index >= 0 ? CompletableFuture.completedFuture(BigInteger.valueOf(index))
+                    : eventProjection.isSynced() ? CompletableFuture.completedFuture(null)
+                    : blockchainService.findEventIndexAsync(ipfsHash));
+        }
+
+        List<String> errors = new ArrayList<>();
+        List<Integer> entries = new ArrayList<>();
+        List<String> eventTypes = new ArrayList<>();
+        List<String> metadataHashes = new ArrayList<>();
+        HashSet<String> seen = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String ipfsHash = ipfsHashes.get(i);
+            BigInteger existing = RpcBatcher.await(onChain.get(i));
+            if (!seen.add(ipfsHash)) {
+                errors.add("Entry " + i + " (" + ipfsHash + "): duplicate metadata in batch");
+            } else if (existing != null) {
+                errors.add("Entry " + i + " (" + ipfsHash + "): event with this hash already exists (index " + existing + ")");
+            } else {
+                entries.add(i);
+                eventTypes.add(requests.get(i).getEventType());
+                metadataHashes.add(ipfsHash);
+            }
+        }
+
+        List<Event> confirmed = new ArrayList<>();
+        List<EventResponse> events = List.of();
+        List<String> txHashes = new ArrayList<>();
+        List<EventBatchChunk> chunks = new ArrayList<>();
+        if (!metadataHashes.isEmpty()) {
+            List<BlockchainService.SentChunk> sent = blockchainService.addEvents(eventTypes, metadataHashes);
+            List<CompletableFuture<TransactionReceipt>> receipts = new ArrayList<>(sent.size());
+            for (BlockchainService.SentChunk chunk : sent) {
+                if (chunk.txHash() != null) {
+                    txHashes.add(chunk.txHash());
+                    receipts.add(blockchainService.waitForTransactionReceiptAsync(chunk.txHash(), RECEIPT_TIMEOUT_SECONDS));
+                } else {
+                    receipts.add(null);
+                }
+            }
+
+            for (int c = 0; c < sent.size(); c++) {
+                BlockchainService.SentChunk chunk = sent.get(c);
+                List<Integer> chunkEntries = entries.subList(chunk.from(), chunk.to());
+                EventBatchChunk.EventBatchChunkBuilder result = EventBatchChunk.builder()
+                        .entries(new ArrayList<>(chunkEntries))
+                        .transactionHash(chunk.txHash());
+                if (chunk.txHash() == null) {
+                    errors.add("Entries " + chunkEntries + ": " + chunk.error());
+                    chunks.add(result.status(STATUS_FAILED).error(chunk.error()).build());
+                    continue;
+                }
+
+                TransactionReceipt receipt;
+                try {
+                    receipt = receipts.get(c).join();
+                } catch (CompletionException | CancellationException e) {
+                    String error = "transaction " + chunk.txHash() + " not confirmed: "
+                            + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                    errors.add("Entries " + chunkEntries + ": " + error);
+                    chunks.add(result.status(STATUS_PENDING).error(error).build());
+                    continue;
+                }
+                if (!receipt.isStatusOK()) {
+                    String error = "transaction " + chunk.txHash() + " reverted";
+                    errors.add("Entries " + chunkEntries + ": " + error);
+                    chunks.add(result.status(STATUS_FAILED).error(error).build());
+                    continue;
+                }
+                confirmed.addAll(blockchainService.decodeEventAddedLogs(receipt));
+                chunks.add(result.status(STATUS_CONFIRMED).build());
+            }
+            events = assembler.toEventResponses(confirmed, includeQr);
+            log.info("Batch of {} events sent in {} of {} transactions, {} events confirmed",
+                    metadataHashes.size(), txHashes.size(), sent.size(), events.size());
+        }
+
+        return EventBatchResponse.builder()
+                .events(events)
+                .transactionHashes(txHashes)
+                .chunks(chunks)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Upload and send the transaction, then confirm in the background
+     */
+    public SubmissionResponse submit(String eventType, String metadata) throws Exception {
+        Sent sent = send(eventType, metadata);
+
+        Submission submission = new Submission(UUID.randomUUID().toString(), eventType, sent);
+        submissions.put(submission.id, submission);
+        log.info("Submission {} accepted: tx={}", submission.id, sent.txHash);
+
+        confirmAsync(sent).whenComplete((event, error) -> {
+            if (error == null) {
+                submission.complete(event, null);
+                log.info("Submission {} confirmed at index {}", submission.id, event.getIndex());
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                log.error("Submission {} failed", submission.id, cause);
+                submission.complete(null, cause.getMessage());
+            }
+        });
+        return submission.toResponse();
+    }
+
+    public SubmissionResponse getSubmission(String id) {
+        Submission submission = submissions.get(id);
+        return submission != null ? submission.toResponse() : null;
+    }
+
+    /**
+     * Stream status updates for a submission; the stream ends once it is confirmed or failed
+     */
+    public SseEmitter subscribe(String id) {
+        Submission submission = submissions.get(id);
+        if (submission == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        submission.addSubscriber(emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.submissions.cleanup-interval-ms:60000}")
+    public void evictFinished() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        submissions.values().removeIf(submission -> submission.finishedAt > 0 && submission.finishedAt < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private Sent send(String eventType, String metadata) throws Exception {
+        rejectIfOnChain(ipfsService.computeHash(metadata));
+
+        // Step 1: Upload metadata to IPFS
+        String ipfsHash = ipfsService.uploadToIpfs(metadata);
+        log.info("Metadata uploaded to IPFS with hash: {}", ipfsHash);
+
+        // Step 2: Add event to blockchain
+        String txHash = blockchainService.addEvent(eventType, ipfsHash);
+        log.info("Event added to blockchain with transaction: {}", txHash);
+
+        return new Sent(ipfsHash, txHash);
+    }
+
+    /**
+     * IPFS hashes are content addresses, so a duplicate is known before anything is
+     * uploaded; without this check the contract would only revert the transaction
+     * after its gas has been paid
+     */
+    private void rejectIfOnChain(String metadataHash) throws Exception {
+        int index = eventProjection.indexOf(metadataHash);
+        BigInteger onChain = index >= 0 ? BigInteger.valueOf(index)
+                : eventProjection.isSynced() ? null : blockchainService.findEventIndex(metadataHash);
+        if (onChain != null) {
+            throw new RuntimeException("Event with this hash already exists: " + metadataHash + " (index " + onChain + ")");
+        }
+    }
+
+    private EventResponse confirm(Sent sent) throws Exception {
+        return RpcBatcher.await(confirmAsync(sent));
+    }
+
+    private CompletableFuture<EventResponse> confirmAsync(Sent sent) {
+        return confirmAsync(sent, new StageTimings());
+    }
+
+    private CompletableFuture<EventResponse> confirmAsync(Sent sent, StageTimings timings) {
+        // Step 3: Wait for transaction to be mined
+        return blockchainService.waitForTransactionReceiptAsync(sent.txHash, RECEIPT_TIMEOUT_SECONDS)
+                .thenApply(receipt -> {
+                    timings.mark("mine");
+                    if (!receipt.isStatusOK()) {
+                        throw new RuntimeException("Transaction " + sent.txHash + " reverted");
+                    }
+                    log.info("Transaction confirmed");
+
+                    // Step 4: The receipt's EventAdded log carries the new event, index included,
+                    // so no further reads are needed and concurrent writers cannot interfere
+                    return blockchainService.decodeEventAddedLogs(receipt).stream()
+                            .filter(event -> sent.ipfsHash.equals(event.getMetadataHash()))
+                            .findFirst()
+                            .orElseThrow(() -> new RuntimeException("EventAdded log not found in transaction " + sent.txHash));
+                })
+                // Step 5: Generate event hash, proof JSON and QR code
+                .thenCompose(newEvent -> assembler.toEventResponseAsync(newEvent, true))
+                .thenApply(response -> {
+                    timings.mark("assemble");
+                    return response;
+                });
+    }
+
+    private static final class Sent {
+        private final String ipfsHash;
+        private final String txHash;
+
+        private Sent(String ipfsHash, String txHash) {
+            this.ipfsHash = ipfsHash;
+            this.txHash = txHash;
+        }
+    }
+
+    private static final class Submission {
+        private final String id;
+        private final String eventType;
+        private final Sent sent;
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private volatile String status = STATUS_PENDING;
+        private volatile EventResponse event;
+        private volatile String error;
+        private volatile long finishedAt;
+
+        private Submission(String id, String eventType, Sent sent) {
+            this.id = id;
+            this.eventType = eventType;
+            this.sent = sent;
+        }
+
+        private SubmissionResponse toResponse() {
+            return SubmissionResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .eventType(eventType)
+                    .metadataHash(sent.ipfsHash)
+                    .transactionHash(sent.txHash)
+                    .event(event)
+                    .error(error)
+                    .build();
+        }
+
+        private void addSubscriber(SseEmitter emitter) {
+            subscribers.add(emitter);
+            emitter.onCompletion(() -> subscribers.remove(emitter));
+            emitter.onTimeout(() -> subscribers.remove(emitter));
+            // Send the current state; if the submission finished meanwhile this also ends the stream
+            publish(emitter);
+        }
+
+        private void complete(EventResponse event, String error) {
+            this.event = event;
+            this.error = error;
+            this.status = event != null ? STATUS_CONFIRMED : STATUS_FAILED;
+            this.finishedAt = System.currentTimeMillis();
+            subscribers.forEach(this::publish);
+        }
+
+        private synchronized void publish(SseEmitter emitter) {
+            try {
+                SubmissionResponse response = toResponse();
+                emitter.send(SseEmitter.event().name(response.getStatus().toLowerCase(Locale.ROOT)).data(response));
+                if (!STATUS_PENDING.equals(response.getStatus())) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping submission subscriber: {}", e.getMessage());
+                subscribers.remove(emitter);
+            }
+        }
+    }
+}
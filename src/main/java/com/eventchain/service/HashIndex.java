@@ -0,0 +1,112 @@
+package com.eventchain.service;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Compact metadata-hash to event-index map.
+ *
+ * Open addressing over two parallel primitive arrays: a 64-bit fingerprint of the
+ * hash string and the event index it belongs to, so an entry costs 12 bytes with no
+ * boxing and no copy of the key. Because only fingerprints are stored, callers confirm
+ * a candidate index against the real event (see {@link #get(String, IntPredicate)}).
+ * Not thread-safe; {@link EventProjection} guards it with its lock.
+ */
+final class HashIndex {
+
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final long EMPTY = 0L;
+
+    private long[] fingerprints;
+    private int[] indexes;
+    private int size;
+    private int resizeAt;
+
+    HashIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Map a metadata hash to its event index. Hashes are unique on-chain, so
+     * existing entries are never replaced.
+     */
+    void put(String metadataHash, int index) {
+        if (size >= resizeAt) {
+            grow();
+        }
+        insert(fingerprint(metadataHash), index);
+        size++;
+    }
+
+    /**
+     * Return the index for the hash, or -1. {@code isMatch} is asked to confirm each
+     * candidate whose fingerprint matches, so fingerprint collisions never leak through.
+     */
+    int get(String metadataHash, IntPredicate isMatch) {
+        long fingerprint = fingerprint(metadataHash);
+        int mask = fingerprints.length - 1;
+        for (int slot = mix(fingerprint) & mask; fingerprints[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (fingerprints[slot] == fingerprint && isMatch.test(indexes[slot])) {
+                return indexes[slot];
+            }
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(16);
+        size = 0;
+    }
+
+    private void insert(long fingerprint, int index) {
+        int mask = fingerprints.length - 1;
+        int slot = mix(fingerprint) & mask;
+        while (fingerprints[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        fingerprints[slot] = fingerprint;
+        indexes[slot] = index;
+    }
+
+    private void grow() {
+        long[] oldFingerprints = fingerprints;
+        int[] oldIndexes = indexes;
+        allocate(oldFingerprints.length << 1);
+        for (int i = 0; i < oldFingerprints.length; i++) {
+            if (oldFingerprints[i] != EMPTY) {
+                insert(oldFingerprints[i], oldIndexes[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        fingerprints = new long[capacity];
+        indexes = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer
+     */
+    static long fingerprint(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1L : h;
+    }
+
+    private static int mix(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32));
+    }
+}
@@ -0,0 +1,249 @@
+package com.eventchain.service;
+
+import io.ipfs.api.IPFS;
+import io.ipfs.api.MerkleNode;
+import io.ipfs.api.NamedStreamable;
+import io.ipfs.multihash.Multihash;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ContentStore} backed by an IPFS daemon's HTTP API.
+ *
+ * The client is created lazily with connect/read timeouts and dropped when the daemon
+ * cannot be reached or stops answering, so the next call reconnects. At most
+ * {@code maxInFlight} calls are outstanding. Connection failures and timeouts are
+ * retried with jittered exponential backoff; errors the daemon reports (e.g. an unknown
+ * CID) and a full in-flight limit are not.
+ *
+ * {@link #exists} goes through a second client whose read timeout is
+ * {@code existsTimeoutMs}: for a CID it does not hold, the daemon searches the network
+ * and would otherwise keep the caller for the whole read timeout.
+ */
+@Slf4j
+public class HttpContentStore implements ContentStore {
+
+    private final String host;
+    private final int port;
+    private final String protocol;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final int existsTimeoutMs;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Semaphore inFlight;
+
+    private volatile IPFS ipfs;
+    private volatile IPFS probe;
+
+    public HttpContentStore(String host, int port, String protocol, int maxInFlight,
+                            int connectTimeoutMs, int readTimeoutMs, int existsTimeoutMs,
+                            int maxAttempts, long backoffMs) {
+        this.host = host;
+        this.port = port;
+        this.protocol = protocol;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.existsTimeoutMs = existsTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        log.info("IPFS client: max in flight={}, connect timeout={}ms, read timeout={}ms, exists timeout={}ms, attempts={}",
+                maxInFlight, connectTimeoutMs, readTimeoutMs, existsTimeoutMs, maxAttempts);
+        try {
+            connect();
+        } catch (IllegalStateException e) {
+            log.warn("Failed to initialize IPFS connection: {}", e.getMessage());
+            log.warn("IPFS features will not be available until the daemon is reachable; the connection is retried on use.");
+            log.warn("To start IPFS: Run 'ipfs daemon' in a terminal");
+        }
+    }
+
+    @Override
+    public String add(byte[] content) throws IOException {
+        return hashOf(call("add", maxAttempts, false, client -> client.add(new NamedStreamable.ByteArrayWrapper(content))));
+    }
+
+    /**
+     * The stream is sent to the daemon as it is read; it can't be replayed, so this is
+     * a single attempt
+     */
+    @Override
+    public String add(InputStream content) throws IOException {
+        return hashOf(call("add", 1, false, client -> client.add(new NamedStreamable.InputStreamWrapper(content))));
+    }
+
+    @Override
+    public byte[] get(String hash) throws IOException {
+        Multihash multihash = Multihash.fromBase58(hash);
+        return call("cat", maxAttempts, false, client -> client.cat(multihash));
+    }
+
+    /**
+     * Only the root block's metadata is fetched ({@code block/stat}). One attempt on the
+     * probe client: a block the daemon does not have fails after {@code existsTimeoutMs}.
+     */
+    @Override
+    public boolean exists(String hash) throws IOException {
+        Multihash multihash = Multihash.fromBase58(hash);
+        call("block/stat", 1, true, client -> client.block.stat(multihash));
+        return true;
+    }
+
+    @Override
+    public void checkAvailable() {
+        connect();
+    }
+
+    private static String hashOf(List<MerkleNode> result) throws IOException {
+        if (result == null || result.isEmpty()) {
+            throw new IOException("IPFS upload returned empty result");
+        }
+        return result.get(0).hash.toBase58();
+    }
+
+    /**
+     * Return the IPFS client, connecting first if there is none (at boot the daemon may
+     * have been down, and a failed call drops the client so the next one reconnects)
+     */
+    private IPFS connect() {
+        IPFS client = ipfs;
+        if (client != null) {
+            return client;
+        }
+        synchronized (this) {
+            if (ipfs == null) {
+                String ipfsUrl = protocol + "://" + host + ":" + port;
+                log.info("Initializing IPFS connection to: {}", ipfsUrl);
+                ipfs = newClient(readTimeoutMs);
+                log.info("IPFS connection established");
+            }
+            return ipfs;
+        }
+    }
+
+    /**
+     * Return the client {@link #exists} uses, connecting first if there is none
+     */
+    private IPFS connectProbe() {
+        IPFS client = probe;
+        if (client != null) {
+            return client;
+        }
+        synchronized (this) {
+            if (probe == null) {
+                probe = newClient(existsTimeoutMs);
+            }
+            return probe;
+        }
+    }
+
+    private IPFS newClient(int clientReadTimeoutMs) {
+        try {
+            return new IPFS(host, port, "/api/v0/", connectTimeoutMs, clientReadTimeoutMs, "https".equals(protocol));
+        } catch (Exception e) {
+            throw new IllegalStateException(
+                "IPFS is not available. Please ensure IPFS daemon is running on " +
+                protocol + "://" + host + ":" + port +
+                ". Start it with: ipfs daemon", e
+            );
+        }
+    }
+
+    /**
+     * Run a daemon call with at most {@code ipfs.max-in-flight} calls outstanding,
+     * retrying transport failures up to {@code attempts} times with jittered exponential
+     * backoff. Only a transport failure drops the client so the next attempt reconnects.
+     * {@code useProbe} runs the call on the {@link #exists} client.
+     */
+    private <T> T call(String operation, int attempts, boolean useProbe, IpfsCall<T> call) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            IPFS client = null;
+            try {
+                client = useProbe ? connectProbe() : connect();
+                acquire(useProbe ? existsTimeoutMs : readTimeoutMs);
+                try {
+                    return call.apply(client);
+                } finally {
+                    inFlight.release();
+                }
+            } catch (Exception e) {
+                // Without a client connect() failed, i.e. the daemon is not reachable yet
+                boolean transport = client == null || isTransportFailure(e);
+                if (transport && client != null) {
+                    synchronized (this) {
+                        if (ipfs == client) {
+                            ipfs = null;
+                        }
+                        if (probe == client) {
+                            probe = null;
+                        }
+                    }
+                }
+                if (!transport || attempt >= attempts) {
+                    if (e instanceof IllegalStateException) {
+                        throw (IllegalStateException) e;
+                    }
+                    throw e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+                }
+                long delay = backoffMs > 0 ? ThreadLocalRandom.current().nextLong(backoffMs << (attempt - 1)) + 1 : 0;
+                log.warn("IPFS {} failed (attempt {}/{}): {}; retrying in {} ms",
+                        operation, attempt, attempts, e.getMessage(), delay);
+                sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * Whether the daemon could not be reached or stopped answering, as opposed to
+     * answering with an error. The client reports these as RuntimeExceptions, at times
+     * without the socket exception as their cause, so its messages are checked too.
+     */
+    static boolean isTransportFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof SocketTimeoutException) {
+                return true;
+            }
+            String message = t.getMessage();
+            if (message != null && (message.startsWith("Couldn't connect to IPFS daemon")
+                    || (message.startsWith("timeout (") && message.endsWith("has been exceeded")))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void acquire(int timeoutMs) throws IOException {
+        try {
+            if (!inFlight.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many IPFS requests in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an IPFS slot", e);
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while retrying IPFS call", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IpfsCall<T> {
+        T apply(IPFS client) throws Exception;
+    }
+}
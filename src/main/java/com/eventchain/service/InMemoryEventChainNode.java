@@ -0,0 +1,687 @@
+package com.eventchain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Service;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process Ethereum node hosting a single EventChain contract, for running the
+ * application without Ganache (dev, CI, benchmarks and load tests).
+ *
+ * It plugs in below {@link org.web3j.protocol.Web3j} as its transport and answers the
+ * JSON-RPC methods this application uses, so {@link BlockchainService}, the RPC batcher,
+ * nonce management, receipt polling and the event indexer all run unchanged. The contract
+ * at {@code contractAddress} follows EventChain.sol: append-only events, duplicate
+ * metadata hashes revert, {@code verifyHash} and {@code EventAdded} logs with the same
+ * topics and event hash. Signed transactions are decoded and checked for nonce and gas;
+ * a revert produces a mined receipt with status 0 and no logs.
+ *
+ * With {@code blockTimeMs} 0 each transaction is mined into its own block as soon as it
+ * is sent; otherwise pending transactions are mined together every {@code blockTimeMs}.
+ * Every request (a whole batch counts as one) is delayed by {@code latencyMs}.
+ */
+@Slf4j
+public class InMemoryEventChainNode extends Service {
+
+    private static final String ADD_EVENT = selector("addEvent(string,string)");
+    private static final String ADD_EVENTS = selector("addEvents(string[],string[])");
+    private static final String GET_EVENT = selector("getEvent(uint256)");
+    private static final String GET_ALL_EVENTS = selector("getAllEvents()");
+    private static final String GET_EVENT_COUNT = selector("getEventCount()");
+    private static final String VERIFY_HASH = selector("verifyHash(string)");
+
+    private static final long CHAIN_ID = 1337;
+    private static final long BLOCK_GAS_LIMIT = 30_000_000L;
+    private static final long TX_BASE_GAS = 21_000L;
+    private static final long EVENT_GAS = 120_000L;
+    private static final String EMPTY_BLOOM = "0x" + "0".repeat(512);
+    private static final String ZERO_HASH = "0x" + "0".repeat(64);
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private final String contractAddress;
+    private final long blockTimeMs;
+    private final long latencyMs;
+    private final BigInteger gasPrice;
+    private final BigInteger initialBalance;
+    private final ScheduledExecutorService miner;
+
+    // Chain state, guarded by this
+    private final List<StoredEvent> events = new ArrayList<>();
+    private final Map<String, Integer> hashToIndex = new HashMap<>();
+    private final List<Block> blocks = new ArrayList<>();
+    private final List<PendingTransaction> pending = new ArrayList<>();
+    private final Map<String, ObjectNode> receipts = new HashMap<>();
+    private final Map<String, BigInteger> minedNonces = new HashMap<>();
+    private final Map<String, BigInteger> pendingNonces = new HashMap<>();
+    private final Map<String, BigInteger> balances = new HashMap<>();
+
+    public InMemoryEventChainNode(String contractAddress, long blockTimeMs, long latencyMs,
+                                  BigInteger gasPrice, BigInteger initialBalance) {
+        super(false);
+        this.contractAddress = contractAddress.toLowerCase(Locale.ROOT);
+        this.blockTimeMs = blockTimeMs;
+        this.latencyMs = latencyMs;
+        this.gasPrice = gasPrice;
+        this.initialBalance = initialBalance;
+
+        blocks.add(new Block(0, Hash.sha3String("eventchain-genesis"), ZERO_HASH, System.currentTimeMillis() / 1000));
+        if (blockTimeMs > 0) {
+            miner = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "memory-ledger-miner");
+                thread.setDaemon(true);
+                return thread;
+            });
+            miner.scheduleAtFixedRate(this::mineSafely, blockTimeMs, blockTimeMs, TimeUnit.MILLISECONDS);
+        } else {
+            miner = null;
+        }
+        log.info("In-memory ledger: contract={}, block time={}, latency={}ms",
+                contractAddress, blockTimeMs == 0 ? "automine" : blockTimeMs + "ms", latencyMs);
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while simulating RPC latency", e);
+            }
+        }
+        JsonNode request = objectMapper.readTree(payload);
+        JsonNode response;
+        if (request.isArray()) {
+            ArrayNode responses = JSON.arrayNode();
+            for (JsonNode call : request) {
+                responses.add(handle(call));
+            }
+            response = responses;
+        } else {
+            response = handle(request);
+        }
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (miner != null) {
+            miner.shutdownNow();
+        }
+    }
+
+    private ObjectNode handle(JsonNode request) {
+        ObjectNode response = JSON.objectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        String method = request.path("method").asText();
+        JsonNode params = request.path("params");
+        try {
+            response.set("result", dispatch(method, params));
+        } catch (RpcError e) {
+            ObjectNode error = response.putObject("error");
+            error.put("code", e.code);
+            error.put("message", e.getMessage());
+        } catch (RuntimeException e) {
+            ObjectNode error = response.putObject("error");
+            error.put("code", -32602);
+            error.put("message", "Invalid params: " + e.getMessage());
+        }
+        return response;
+    }
+
+    private JsonNode dispatch(String method, JsonNode params) {
+        switch (method) {
+            case "eth_chainId":
+                return quantity(CHAIN_ID);
+            case "net_version":
+                return JSON.textNode(Long.toString(CHAIN_ID));
+            case "web3_clientVersion":
+                return JSON.textNode("EventChain/memory");
+            case "eth_blockNumber":
+                synchronized (this) {
+                    return quantity(head().number);
+                }
+            case "eth_gasPrice":
+                return quantity(gasPrice);
+            case "eth_getBalance":
+                synchronized (this) {
+                    return quantity(balance(address(params.get(0).asText())));
+                }
+            case "eth_getTransactionCount":
+                return quantity(transactionCount(address(params.get(0).asText()), params.path(1).asText("latest")));
+            case "eth_sendRawTransaction":
+                return JSON.textNode(sendRawTransaction(params.get(0).asText()));
+            case "eth_getTransactionReceipt":
+                synchronized (this) {
+                    ObjectNode receipt = receipts.get(params.get(0).asText().toLowerCase(Locale.ROOT));
+                    return receipt != null ? receipt : JSON.nullNode();
+                }
+            case "eth_getBlockByNumber":
+                return blockByNumber(params.get(0).asText());
+            case "eth_call":
+                return JSON.textNode(call(params.get(0)));
+            case "eth_getLogs":
+                return logs(params.get(0));
+            default:
+                throw new RpcError(-32601, "Method " + method + " not found");
+        }
+    }
+
+    // --- Transactions -------------------------------------------------------------
+
+    private String sendRawTransaction(String signedHex) {
+        SignedRawTransaction transaction;
+        String from;
+        try {
+            RawTransaction decoded = TransactionDecoder.decode(signedHex);
+            if (!(decoded instanceof SignedRawTransaction)) {
+                throw new RpcError(-32000, "transaction is not signed");
+            }
+            transaction = (SignedRawTransaction) decoded;
+            from = address(transaction.getFrom());
+        } catch (RpcError e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RpcError(-32000, "invalid transaction: " + e.getMessage());
+        }
+        String txHash = Numeric.toHexString(Hash.sha3(Numeric.hexStringToByteArray(signedHex)));
+
+        synchronized (this) {
+            if (receipts.containsKey(txHash) || pending.stream().anyMatch(p -> p.hash.equals(txHash))) {
+                throw new RpcError(-32000, "already known");
+            }
+            BigInteger expected = pendingNonces.getOrDefault(from, minedNonces.getOrDefault(from, BigInteger.ZERO));
+            int order = transaction.getNonce().compareTo(expected);
+            if (order < 0) {
+                throw new RpcError(-32000, "nonce too low");
+            }
+            if (order > 0) {
+                throw new RpcError(-32000, "incorrect nonce: expected " + expected + ", got " + transaction.getNonce());
+            }
+            if (transaction.getGasLimit().compareTo(BigInteger.valueOf(BLOCK_GAS_LIMIT)) > 0) {
+                throw new RpcError(-32000, "exceeds block gas limit");
+            }
+            BigInteger maxCost = transaction.getGasLimit().multiply(transaction.getGasPrice());
+            if (balance(from).compareTo(maxCost) < 0) {
+                throw new RpcError(-32000, "insufficient funds for gas * price + value");
+            }
+
+            pendingNonces.put(from, expected.add(BigInteger.ONE));
+            pending.add(new PendingTransaction(txHash, from, transaction));
+            if (blockTimeMs == 0) {
+                mine();
+            }
+        }
+        return txHash;
+    }
+
+    private void mineSafely() {
+        try {
+            synchronized (this) {
+                mine();
+            }
+        } catch (RuntimeException e) {
+            log.error("In-memory ledger failed to mine a block", e);
+        }
+    }
+
+    /**
+     * Seal the pending transactions into a new block. Callers hold the lock.
+     */
+    private void mine() {
+        Block parent = head();
+        long timestamp = Math.max(parent.timestamp, System.currentTimeMillis() / 1000);
+        long number = parent.number + 1;
+        Block block = new Block(number, Hash.sha3String(parent.hash + number + timestamp), parent.hash, timestamp);
+
+        long cumulativeGas = 0;
+        for (PendingTransaction tx : pending) {
+            int transactionIndex = block.transactions.size();
+            Execution execution = execute(tx, block, transactionIndex);
+            cumulativeGas += execution.gasUsed;
+
+            BigInteger txGasPrice = tx.transaction.getGasPrice();
+            balances.put(tx.from, balance(tx.from).subtract(txGasPrice.multiply(BigInteger.valueOf(execution.gasUsed))));
+            minedNonces.put(tx.from, tx.transaction.getNonce().add(BigInteger.ONE));
+
+            ObjectNode receipt = JSON.objectNode();
+            receipt.put("transactionHash", tx.hash);
+            receipt.put("transactionIndex", hex(transactionIndex));
+            receipt.put("blockHash", block.hash);
+            receipt.put("blockNumber", hex(number));
+            receipt.put("from", tx.from);
+            receipt.put("to", tx.transaction.getTo());
+            receipt.put("cumulativeGasUsed", hex(cumulativeGas));
+            receipt.put("gasUsed", hex(execution.gasUsed));
+            receipt.put("effectiveGasPrice", Numeric.toHexStringWithPrefix(txGasPrice));
+            receipt.putNull("contractAddress");
+            receipt.set("logs", execution.logs);
+            receipt.put("logsBloom", EMPTY_BLOOM);
+            receipt.put("status", execution.success ? "0x1" : "0x0");
+            if (execution.revertReason != null) {
+                receipt.put("revertReason", execution.revertReason);
+            }
+            receipt.put("type", "0x0");
+            receipts.put(tx.hash, receipt);
+
+            block.transactions.add(tx.hash);
+            execution.logs.forEach(block.logs::add);
+            if (!execution.success) {
+                log.debug("Transaction {} reverted: {}", tx.hash, execution.revertReason);
+            }
+        }
+        pending.clear();
+        pendingNonces.clear();
+        block.gasUsed = cumulativeGas;
+        blocks.add(block);
+    }
+
+    /**
+     * Run one transaction against the contract. Events are staged and only applied if
+     * the whole call succeeds, so a revert in {@code addEvents} leaves no partial batch.
+     */
+    private Execution execute(PendingTransaction tx, Block block, int transactionIndex) {
+        String to = tx.transaction.getTo() == null ? null : address(tx.transaction.getTo());
+        String data = Numeric.cleanHexPrefix(tx.transaction.getData() == null ? "" : tx.transaction.getData());
+        if (!contractAddress.equals(to) || data.length() < 8) {
+            // Plain transfer or a call to an account without code
+            return new Execution(true, TX_BASE_GAS, JSON.arrayNode(), null);
+        }
+
+        String selector = data.substring(0, 8);
+        String arguments = data.substring(8);
+        List<String[]> staged = new ArrayList<>();
+        try {
+            if (selector.equals(ADD_EVENT)) {
+                List<Type> values = decode(arguments, new TypeReference<Utf8String>() {}, new TypeReference<Utf8String>() {});
+                staged.add(new String[]{(String) values.get(0).getValue(), (String) values.get(1).getValue()});
+            } else if (selector.equals(ADD_EVENTS)) {
+                List<Type> values = decode(arguments,
+                        new TypeReference<DynamicArray<Utf8String>>() {}, new TypeReference<DynamicArray<Utf8String>>() {});
+                List<String> types = strings(values.get(0));
+                List<String> hashes = strings(values.get(1));
+                require(types.size() == hashes.size(), "Array lengths do not match");
+                require(!types.isEmpty(), "No events to add");
+                for (int i = 0; i < types.size(); i++) {
+                    staged.add(new String[]{types.get(i), hashes.get(i)});
+                }
+            } else {
+                throw new Revert(null);
+            }
+
+            long gasUsed = TX_BASE_GAS + EVENT_GAS * staged.size();
+            if (gasUsed > tx.transaction.getGasLimit().longValue()) {
+                return new Execution(false, tx.transaction.getGasLimit().longValue(), JSON.arrayNode(), "out of gas");
+            }
+
+            Map<String, Integer> added = new HashMap<>();
+            for (String[] event : staged) {
+                require(!event[1].isEmpty(), "Metadata hash cannot be empty");
+                require(!event[0].isEmpty(), "Event type cannot be empty");
+                require(!hashToIndex.containsKey(event[1]) && !added.containsKey(event[1]),
+                        "Event with this hash already exists");
+                added.put(event[1], events.size() + added.size());
+            }
+
+            ArrayNode logs = JSON.arrayNode();
+            for (String[] event : staged) {
+                int index = events.size();
+                events.add(new StoredEvent(tx.from, event[0], event[1], block.timestamp));
+                hashToIndex.put(event[1], index);
+                logs.add(eventAddedLog(index, tx, event[0], event[1], block, transactionIndex, logs.size()));
+            }
+            return new Execution(true, gasUsed, logs, null);
+        } catch (Revert e) {
+            return new Execution(false, TX_BASE_GAS, JSON.arrayNode(), e.getMessage());
+        } catch (RuntimeException e) {
+            // Undecodable calldata reverts like an ABI decoding failure in the contract
+            return new Execution(false, TX_BASE_GAS, JSON.arrayNode(), null);
+        }
+    }
+
+    private ObjectNode eventAddedLog(int index, PendingTransaction tx, String eventType, String metadataHash,
+                                     Block block, int transactionIndex, int logIndexInTx) {
+        ObjectNode log = JSON.objectNode();
+        log.put("removed", false);
+        log.put("logIndex", hex(block.logs.size() + logIndexInTx));
+        log.put("transactionIndex", hex(transactionIndex));
+        log.put("transactionHash", tx.hash);
+        log.put("blockHash", block.hash);
+        log.put("blockNumber", hex(block.number));
+        log.put("address", contractAddress);
+        log.put("data", "0x" + FunctionEncoder.encodeConstructor(Arrays.asList(
+                new Utf8String(eventType), new Utf8String(metadataHash), new Uint256(block.timestamp))));
+        ArrayNode topics = log.putArray("topics");
+        topics.add(BlockchainService.EVENT_ADDED_TOPIC);
+        topics.add("0x" + TypeEncoder.encode(new Uint256(index)));
+        topics.add("0x" + TypeEncoder.encode(new Address(tx.from)));
+        topics.add(EventHasher.hashHex(tx.from, eventType, metadataHash,
+                BigInteger.valueOf(block.timestamp), BigInteger.valueOf(index)));
+        return log;
+    }
+
+
+    // --- Reads --------------------------------------------------------------------
+
+    private String call(JsonNode transaction) {
+        String to = transaction.hasNonNull("to") ? address(transaction.get("to").asText()) : null;
+        String data = Numeric.cleanHexPrefix(transaction.path("data").asText(transaction.path("input").asText("")));
+        if (!contractAddress.equals(to)) {
+            return "0x";
+        }
+        if (data.length() < 8) {
+            throw new RpcError(3, "execution reverted");
+        }
+
+        String selector = data.substring(0, 8);
+        String arguments = data.substring(8);
+        List<Type> result;
+        synchronized (this) {
+            if (selector.equals(GET_EVENT_COUNT)) {
+                result = List.of(new Uint256(events.size()));
+            } else if (selector.equals(GET_EVENT)) {
+                BigInteger index = (BigInteger) decode(arguments, new TypeReference<Uint256>() {}).get(0).getValue();
+                if (index.compareTo(BigInteger.valueOf(events.size())) >= 0) {
+                    throw new RpcError(3, "execution reverted: Event index out of bounds");
+                }
+                StoredEvent event = events.get(index.intValue());
+                result = Arrays.asList(new Address(event.actor), new Utf8String(event.eventType),
+                        new Utf8String(event.metadataHash), new Uint256(event.timestamp));
+            } else if (selector.equals(GET_ALL_EVENTS)) {
+                List<Address> actors = new ArrayList<>(events.size());
+                List<Utf8String> types = new ArrayList<>(events.size());
+                List<Utf8String> hashes = new ArrayList<>(events.size());
+                List<Uint256> timestamps = new ArrayList<>(events.size());
+                for (StoredEvent event : events) {
+                    actors.add(new Address(event.actor));
+                    types.add(new Utf8String(event.eventType));
+                    hashes.add(new Utf8String(event.metadataHash));
+                    timestamps.add(new Uint256(event.timestamp));
+                }
+                result = Arrays.asList(new DynamicArray<>(Address.class, actors),
+                        new DynamicArray<>(Utf8String.class, types),
+                        new DynamicArray<>(Utf8String.class, hashes),
+                        new DynamicArray<>(Uint256.class, timestamps));
+            } else if (selector.equals(VERIFY_HASH)) {
+                String metadataHash = (String) decode(arguments, new TypeReference<Utf8String>() {}).get(0).getValue();
+                Integer index = hashToIndex.get(metadataHash);
+                result = Arrays.asList(new Bool(index != null), new Uint256(index != null ? index : 0));
+            } else if (selector.equals(ADD_EVENT) || selector.equals(ADD_EVENTS)) {
+                // State-changing functions return nothing when simulated
+                result = Collections.emptyList();
+            } else {
+                throw new RpcError(3, "execution reverted");
+            }
+        }
+        return "0x" + FunctionEncoder.encodeConstructor(result);
+    }
+
+    private JsonNode blockByNumber(String blockParameter) {
+        synchronized (this) {
+            long number = blockNumber(blockParameter);
+            if (number < 0 || number >= blocks.size()) {
+                return JSON.nullNode();
+            }
+            Block block = blocks.get((int) number);
+            ObjectNode json = JSON.objectNode();
+            json.put("number", hex(block.number));
+            json.put("hash", block.hash);
+            json.put("parentHash", block.parentHash);
+            json.put("nonce", "0x0000000000000000");
+            json.put("sha3Uncles", ZERO_HASH);
+            json.put("logsBloom", EMPTY_BLOOM);
+            json.put("transactionsRoot", ZERO_HASH);
+            json.put("stateRoot", ZERO_HASH);
+            json.put("receiptsRoot", ZERO_HASH);
+            json.put("miner", "0x" + "0".repeat(40));
+            json.put("difficulty", "0x0");
+            json.put("totalDifficulty", "0x0");
+            json.put("extraData", "0x");
+            json.put("size", "0x0");
+            json.put("gasLimit", hex(BLOCK_GAS_LIMIT));
+            json.put("gasUsed", hex(block.gasUsed));
+            json.put("timestamp", hex(block.timestamp));
+            ArrayNode transactions = json.putArray("transactions");
+            block.transactions.forEach(transactions::add);
+            json.putArray("uncles");
+            return json;
+        }
+    }
+
+    private JsonNode logs(JsonNode filter) {
+        List<String> addresses = new ArrayList<>();
+        JsonNode address = filter.path("address");
+        if (address.isArray()) {
+            address.forEach(a -> addresses.add(address(a.asText())));
+        } else if (address.isTextual()) {
+            addresses.add(address(address.asText()));
+        }
+        JsonNode topics = filter.path("topics");
+
+        ArrayNode result = JSON.arrayNode();
+        synchronized (this) {
+            long from = blockNumber(filter.path("fromBlock").asText("latest"));
+            long to = Math.min(blockNumber(filter.path("toBlock").asText("latest")), head().number);
+            for (long number = Math.max(0, from); number <= to; number++) {
+                for (JsonNode log : blocks.get((int) number).logs) {
+                    if ((addresses.isEmpty() || addresses.contains(log.get("address").asText()))
+                            && topicsMatch(topics, log.get("topics"))) {
+                        result.add(log);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean topicsMatch(JsonNode filter, JsonNode topics) {
+        if (!filter.isArray()) {
+            return true;
+        }
+        for (int i = 0; i < filter.size(); i++) {
+            JsonNode wanted = filter.get(i);
+            if (wanted == null || wanted.isNull()) {
+                continue;
+            }
+            if (i >= topics.size()) {
+                return false;
+            }
+            String topic = topics.get(i).asText();
+            boolean match = false;
+            if (wanted.isArray()) {
+                for (JsonNode option : wanted) {
+                    match |= option.asText().equalsIgnoreCase(topic);
+                }
+            } else {
+                match = wanted.asText().equalsIgnoreCase(topic);
+            }
+            if (!match) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --- Helpers ------------------------------------------------------------------
+
+    private synchronized BigInteger transactionCount(String address, String blockParameter) {
+        BigInteger mined = minedNonces.getOrDefault(address, BigInteger.ZERO);
+        return "pending".equals(blockParameter) ? pendingNonces.getOrDefault(address, mined) : mined;
+    }
+
+    private BigInteger balance(String address) {
+        return balances.computeIfAbsent(address, a -> initialBalance);
+    }
+
+    private Block head() {
+        return blocks.get(blocks.size() - 1);
+    }
+
+    private long blockNumber(String blockParameter) {
+        switch (blockParameter) {
+            case "earliest":
+                return 0;
+            case "latest":
+            case "pending":
+            case "safe":
+            case "finalized":
+                return head().number;
+            default:
+                return Numeric.decodeQuantity(blockParameter).longValueExact();
+        }
+    }
+
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Type> decode(String arguments, TypeReference<? extends Type>... types) {
+        List outputs = Arrays.asList(types);
+        return FunctionReturnDecoder.decode(arguments, new Function("", List.of(), outputs).getOutputParameters());
+    }
+
+    /**
+     * The values of a decoded {@code string[]}
+     */
+    private static List<String> strings(Type<?> array) {
+        List<String> strings = new ArrayList<>();
+        for (Type<?> element : ((DynamicArray<?>) array).getValue()) {
+            strings.add(((Utf8String) element).getValue());
+        }
+        return strings;
+    }
+
+    private static void require(boolean condition, String reason) {
+        if (!condition) {
+            throw new Revert(reason);
+        }
+    }
+
+    private static String address(String address) {
+        return Numeric.prependHexPrefix(address).toLowerCase(Locale.ROOT);
+    }
+
+    private static String selector(String signature) {
+        return Hash.sha3String(signature).substring(2, 10);
+    }
+
+    private static JsonNode quantity(long value) {
+        return JSON.textNode(hex(value));
+    }
+
+    private static JsonNode quantity(BigInteger value) {
+        return JSON.textNode(Numeric.toHexStringWithPrefix(value));
+    }
+
+    private static String hex(long value) {
+        return "0x" + Long.toHexString(value);
+    }
+
+    private static final class StoredEvent {
+        private final String actor;
+        private final String eventType;
+        private final String metadataHash;
+        private final long timestamp;
+
+        private StoredEvent(String actor, String eventType, String metadataHash, long timestamp) {
+            this.actor = actor;
+            this.eventType = eventType;
+            this.metadataHash = metadataHash;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final class Block {
+        private final long number;
+        private final String hash;
+        private final String parentHash;
+        private final long timestamp;
+        private final List<String> transactions = new ArrayList<>();
+        private final List<JsonNode> logs = new ArrayList<>();
+        private long gasUsed;
+
+        private Block(long number, String hash, String parentHash, long timestamp) {
+            this.number = number;
+            this.hash = hash;
+            this.parentHash = parentHash;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final class PendingTransaction {
+        private final String hash;
+        private final String from;
+        private final SignedRawTransaction transaction;
+
+        private PendingTransaction(String hash, String from, SignedRawTransaction transaction) {
+            this.hash = hash;
+            this.from = from;
+            this.transaction = transaction;
+        }
+    }
+
+    private static final class Execution {
+        private final boolean success;
+        private final long gasUsed;
+        private final ArrayNode logs;
+        private final String revertReason;
+
+        private Execution(boolean success, long gasUsed, ArrayNode logs, String revertReason) {
+            this.success = success;
+            this.gasUsed = gasUsed;
+            this.logs = logs;
+            this.revertReason = revertReason;
+        }
+    }
+
+    /** A contract {@code require} failure */
+    private static final class Revert extends RuntimeException {
+        private Revert(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+
+    /** A JSON-RPC error response */
+    private static final class RpcError extends RuntimeException {
+        private final int code;
+
+        private RpcError(int code, String message) {
+            super(message, null, false, false);
+            this.code = code;
+        }
+    }
+}
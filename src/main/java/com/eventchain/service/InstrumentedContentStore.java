@@ -0,0 +1,117 @@
+package com.eventchain.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the operations {@link IpfsService} sends to its {@link ContentStore} as
+ * {@code eventchain.ipfs.requests}, tagged with the store, operation and outcome.
+ * Reads and uploads answered by IpfsService's caches never reach the store and are
+ * not counted here.
+ */
+public class InstrumentedContentStore implements ContentStore, Closeable {
+
+    private final ContentStore delegate;
+    private final OperationTimers add;
+    private final OperationTimers get;
+    private final OperationTimers exists;
+
+    public InstrumentedContentStore(ContentStore delegate, String store, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.add = new OperationTimers(registry, store, "add");
+        this.get = new OperationTimers(registry, store, "get");
+        this.exists = new OperationTimers(registry, store, "exists");
+    }
+
+    @Override
+    public String add(byte[] content) throws IOException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            String hash = delegate.add(content);
+            ok = true;
+            return hash;
+        } finally {
+            add.record(ok, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String add(InputStream content) throws IOException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            String hash = delegate.add(content);
+            ok = true;
+            return hash;
+        } finally {
+            add.record(ok, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public byte[] get(String hash) throws IOException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            byte[] content = delegate.get(hash);
+            ok = true;
+            return content;
+        } finally {
+            get.record(ok, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) throws IOException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            boolean found = delegate.exists(hash);
+            ok = true;
+            return found;
+        } finally {
+            exists.record(ok, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void checkAvailable() {
+        delegate.checkAvailable();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+
+    private static final class OperationTimers {
+        private final Timer ok;
+        private final Timer error;
+
+        private OperationTimers(MeterRegistry registry, String store, String operation) {
+            this.ok = timer(registry, store, operation, "ok");
+            this.error = timer(registry, store, operation, "error");
+        }
+
+        private void record(boolean succeeded, long nanos) {
+            (succeeded ? ok : error).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private static Timer timer(MeterRegistry registry, String store, String operation, String outcome) {
+            return Timer.builder("eventchain.ipfs.requests")
+                    .description("IPFS content store operations")
+                    .tag("store", store)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
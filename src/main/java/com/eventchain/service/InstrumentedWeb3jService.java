@@ -0,0 +1,176 @@
+package com.eventchain.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JSON-RPC call made through web3j, whatever the caller (RPC batcher,
+ * receipt polling, chain monitor), by wrapping the transport.
+ *
+ * {@code eventchain.rpc.requests} is tagged with the method and the outcome: {@code ok},
+ * {@code error} with the JSON-RPC error code, or {@code transport} when no response came
+ * back. Requests sent in a batch are each recorded with the batch's round trip, which
+ * is also recorded on its own as {@code eventchain.rpc.batch} along with its size.
+ * Timers are created once per method and code and looked up on each sample, so the
+ * common path allocates nothing.
+ */
+public class InstrumentedWeb3jService implements Web3jService {
+
+    private static final String REQUESTS = "eventchain.rpc.requests";
+
+    private final Web3jService delegate;
+    private final MeterRegistry registry;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+    private final Map<String, MethodTimers> methods = new ConcurrentHashMap<>();
+
+    public InstrumentedWeb3jService(Web3jService delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.batchTimer = Timer.builder("eventchain.rpc.batch")
+                .description("JSON-RPC batch round trips")
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("eventchain.rpc.batch.size")
+                .description("Requests per JSON-RPC batch")
+                .register(registry);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        long start = System.nanoTime();
+        try {
+            T response = delegate.send(request, responseType);
+            record(request.getMethod(), response, null, System.nanoTime() - start);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            record(request.getMethod(), null, e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = delegate.sendAsync(request, responseType);
+        future.whenComplete((response, error) ->
+                record(request.getMethod(), response, error, System.nanoTime() - start));
+        return future;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        long start = System.nanoTime();
+        try {
+            BatchResponse response = delegate.sendBatch(batchRequest);
+            recordBatch(batchRequest, response, null, System.nanoTime() - start);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            recordBatch(batchRequest, null, e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        long start = System.nanoTime();
+        CompletableFuture<BatchResponse> future = delegate.sendBatchAsync(batchRequest);
+        future.whenComplete((response, error) ->
+                recordBatch(batchRequest, response, error, System.nanoTime() - start));
+        return future;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod,
+                                                             Class<T> responseType) {
+        return delegate.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private void recordBatch(BatchRequest batchRequest, BatchResponse batchResponse, Throwable error, long nanos) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        batchSize.record(requests.size());
+
+        List<? extends Response<?>> responses = batchResponse != null ? batchResponse.getResponses() : List.of();
+        // Match by id, as RpcBatcher does: the server may answer a batch in any order
+        Map<Long, Response<?>> byId = new HashMap<>();
+        for (Response<?> response : responses) {
+            byId.put(response.getId(), response);
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            Response<?> response = byId.get(requests.get(i).getId());
+            if (response == null && i < responses.size()) {
+                response = responses.get(i);
+            }
+            record(requests.get(i).getMethod(), response, error, nanos);
+        }
+    }
+
+    private void record(String method, Response<?> response, Throwable error, long nanos) {
+        MethodTimers timers = methods.computeIfAbsent(method, MethodTimers::new);
+        Timer timer;
+        if (response == null || error != null) {
+            timer = timers.transport();
+        } else if (response.hasError()) {
+            timer = timers.error(response.getError().getCode());
+        } else {
+            timer = timers.ok;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private final class MethodTimers {
+        private final String method;
+        private final Timer ok;
+        private final Map<Integer, Timer> errors = new ConcurrentHashMap<>();
+        private volatile Timer transport;
+
+        private MethodTimers(String method) {
+            this.method = method;
+            this.ok = timer("ok", "none");
+        }
+
+        /** Registered on first failure, so healthy methods export a single series */
+        private Timer transport() {
+            Timer timer = transport;
+            if (timer == null) {
+                timer = timer("transport", "none");
+                transport = timer;
+            }
+            return timer;
+        }
+
+        private Timer error(int code) {
+            return errors.computeIfAbsent(code, c -> timer("error", Integer.toString(c)));
+        }
+
+        private Timer timer(String outcome, String code) {
+            return Timer.builder(REQUESTS)
+                    .description("JSON-RPC requests by method and outcome")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("code", code)
+                    .register(registry);
+        }
+    }
+}
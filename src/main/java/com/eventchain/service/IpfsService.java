@@ -1,77 +1,92 @@
 package com.eventchain.service;
 
-import io.ipfs.api.IPFS;
-import io.ipfs.api.MerkleNode;
-import io.ipfs.api.NamedStreamable;
-import io.ipfs.multihash.Multihash;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * IPFS access for event metadata: local CID computation, upload dedupe, a read cache
+ * and parallel uploads, on top of the configured {@link ContentStore}.
+ */
 @Slf4j
 @Service
 public class IpfsService {
 
-    @Value("${ipfs.host:127.0.0.1}")
-    private String ipfsHost;
+    private final ContentStore contentStore;
 
-    @Value("${ipfs.port:5001}")
-    private int ipfsPort;
+    @Value("${ipfs.upload.parallelism:8}")
+    private int uploadParallelism;
 
-    @Value("${ipfs.protocol:http}")
-    private String ipfsProtocol;
+    @Value("${ipfs.cache.max-entries:1024}")
+    private int cacheMaxEntries;
 
-    private IPFS ipfs;
+    @Value("${ipfs.cache.max-content-bytes:65536}")
+    private int cacheMaxContentBytes;
+
+    private ExecutorService uploadExecutor;
+
+    /** Locally computed CID -> hash the store returned for it, for content uploaded already */
+    private Map<String, String> uploaded;
+    /** Hash -> content, for objects read from or uploaded to IPFS */
+    private Map<String, byte[]> contentCache;
+
+    public IpfsService(ContentStore contentStore) {
+        this.contentStore = contentStore;
+    }
 
     @PostConstruct
     public void init() {
-        try {
-            String ipfsUrl = ipfsProtocol + "://" + ipfsHost + ":" + ipfsPort;
-            log.info("Initializing IPFS connection to: {}", ipfsUrl);
-            ipfs = new IPFS(ipfsHost, ipfsPort);
-            log.info("IPFS connection established");
-        } catch (Exception e) {
-            log.warn("Failed to initialize IPFS connection: {}", e.getMessage());
-            log.warn("IPFS features will not be available. Please ensure IPFS daemon is running.");
-            log.warn("To start IPFS: Run 'ipfs daemon' in a terminal");
-            ipfs = null; // Set to null so we can check later
-        }
-    }
-    
-    private void checkIpfsConnection() {
-        if (ipfs == null) {
-            throw new IllegalStateException(
-                "IPFS is not available. Please ensure IPFS daemon is running on " + 
-                ipfsProtocol + "://" + ipfsHost + ":" + ipfsPort + 
-                ". Start it with: ipfs daemon"
-            );
-        }
+        uploaded = lruMap(cacheMaxEntries);
+        contentCache = lruMap(cacheMaxEntries);
+        AtomicInteger threadIndex = new AtomicInteger();
+        uploadExecutor = Executors.newFixedThreadPool(uploadParallelism, r -> {
+            Thread thread = new Thread(r, "ipfs-upload-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
-     * Upload metadata to IPFS and return the hash
+     * Upload metadata to IPFS and return the hash. Content uploaded before is not sent
+     * again: its CID is computed locally and the known hash returned.
      */
     public String uploadToIpfs(String metadata) throws IOException {
-        checkIpfsConnection();
-        log.info("Uploading metadata to IPFS");
+        byte[] content = metadata.getBytes(StandardCharsets.UTF_8);
+        String cid = UnixFsCid.of(content);
+        String known = knownHash(cid);
+        if (known != null) {
+            log.info("Metadata already on IPFS with hash: {}", known);
+            return known;
+        }
 
+        contentStore.checkAvailable();
+        log.info("Uploading metadata to IPFS");
         try {
-            NamedStreamable.ByteArrayWrapper file = new NamedStreamable.ByteArrayWrapper(
-                    metadata.getBytes("UTF-8")
-            );
-            
-            List<MerkleNode> result = ipfs.add(file);
-            
-            if (result.isEmpty()) {
-                throw new IOException("IPFS upload returned empty result");
-            }
-
-            String hash = result.get(0).hash.toBase58();
+            String hash = contentStore.add(content);
             log.info("Metadata uploaded to IPFS with hash: {}", hash);
+            if (!hash.equals(cid)) {
+                // The store is not using the default add settings (e.g. CIDv1 or raw leaves)
+                log.debug("IPFS returned {} where {} was computed locally", hash, cid);
+            }
+            synchronized (uploaded) {
+                uploaded.put(cid, hash);
+            }
+            cacheContent(hash, content);
             return hash;
         } catch (Exception e) {
             log.error("Error uploading to IPFS", e);
@@ -79,16 +94,97 @@ public class IpfsService {
         }
     }
 
+    /**
+     * Upload metadata on the upload pool
+     */
+    public CompletableFuture<String> uploadToIpfsAsync(String metadata) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return uploadToIpfs(metadata);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, uploadExecutor);
+    }
+
+    /**
+     * Upload content straight from a stream (e.g. a request body that is still arriving).
+     * With the HTTP store it is sent to the daemon as it is read, never held in memory
+     * as a whole; a stream can't be replayed, so this is a single attempt.
+     */
+    public CompletableFuture<String> uploadStreamAsync(InputStream content) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("Streaming metadata to IPFS");
+            try {
+                String hash = contentStore.add(content);
+                log.info("Metadata streamed to IPFS with hash: {}", hash);
+                return hash;
+            } catch (Exception e) {
+                log.error("Error uploading to IPFS", e);
+                throw new CompletionException(new IOException("Failed to upload to IPFS: " + e.getMessage(), e));
+            }
+        }, uploadExecutor);
+    }
+
+    /**
+     * The hash this metadata has (or will have) on IPFS, without uploading it: the
+     * store's hash if we uploaded it before, otherwise the locally computed CIDv0
+     */
+    public String computeHash(String metadata) {
+        String cid = UnixFsCid.of(metadata.getBytes(StandardCharsets.UTF_8));
+        String known = knownHash(cid);
+        return known != null ? known : cid;
+    }
+
+    /**
+     * Upload several metadata documents in parallel; hashes are returned in input order
+     */
+    public List<String> uploadAllToIpfs(List<String> metadata) throws IOException {
+        contentStore.checkAvailable();
+        log.info("Uploading {} metadata documents to IPFS", metadata.size());
+
+        List<CompletableFuture<String>> uploads = new ArrayList<>(metadata.size());
+        for (String item : metadata) {
+            uploads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return uploadToIpfs(item);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, uploadExecutor));
+        }
+
+        List<String> hashes = new ArrayList<>(uploads.size());
+        try {
+            for (CompletableFuture<String> upload : uploads) {
+                hashes.add(upload.join());
+            }
+        } catch (CompletionException e) {
+            uploads.forEach(upload -> upload.cancel(false));
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+                    : new IOException("Failed to upload to IPFS: " + e.getCause().getMessage(), e.getCause());
+        }
+        return hashes;
+    }
+
     /**
      * Retrieve metadata from IPFS using hash
      */
     public String getFromIpfs(String hash) throws IOException {
-        checkIpfsConnection();
+        byte[] cached;
+        synchronized (contentCache) {
+            cached = contentCache.get(hash);
+        }
+        if (cached != null) {
+            log.debug("Metadata for {} served from cache", hash);
+            return new String(cached, StandardCharsets.UTF_8);
+        }
+
         log.info("Retrieving metadata from IPFS with hash: {}", hash);
 
         try {
-            Multihash multihash = Multihash.fromBase58(hash);
-            byte[] content = ipfs.cat(multihash);
+            byte[] content = contentStore.get(hash);
+            cacheContent(hash, content);
             return new String(content, "UTF-8");
         } catch (Exception e) {
             log.error("Error retrieving from IPFS", e);
@@ -97,18 +193,48 @@ public class IpfsService {
     }
 
     /**
-     * Verify if content exists in IPFS
+     * Verify if content exists in IPFS without downloading it
      */
     public boolean verifyIpfsHash(String hash) {
-        checkIpfsConnection();
+        synchronized (contentCache) {
+            if (contentCache.containsKey(hash)) {
+                return true;
+            }
+        }
+        contentStore.checkAvailable();
         try {
-            Multihash multihash = Multihash.fromBase58(hash);
-            ipfs.cat(multihash);
-            return true;
+            return contentStore.exists(hash);
         } catch (Exception e) {
             log.warn("IPFS hash verification failed: {}", e.getMessage());
             return false;
         }
     }
-}
 
+    private String knownHash(String cid) {
+        synchronized (uploaded) {
+            return uploaded.get(cid);
+        }
+    }
+
+    private void cacheContent(String hash, byte[] content) {
+        if (content.length <= cacheMaxContentBytes) {
+            synchronized (contentCache) {
+                contentCache.put(hash, content);
+            }
+        }
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+}
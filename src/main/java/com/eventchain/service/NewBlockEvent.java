@@ -0,0 +1,15 @@
+package com.eventchain.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigInteger;
+
+/**
+ * Published by {@link ChainStateMonitor} when the chain head advances
+ */
+@Data
+@AllArgsConstructor
+public class NewBlockEvent {
+    private BigInteger blockNumber;
+}
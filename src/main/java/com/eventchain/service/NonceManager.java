@@ -0,0 +1,134 @@
+package com.eventchain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Hands out transaction nonces for the signer account.
+ *
+ * The next nonce is read from the node (pending block) once and then incremented
+ * locally, so concurrent submissions each get a distinct nonce without a round trip
+ * and can be in flight at the same time. Every allocated nonce is settled exactly once:
+ * {@link #sent} when the node accepted it, {@link #release} when the send failed
+ * otherwise, or {@link #invalidate} when the node rejected it as out of step.
+ *
+ * A released nonce is handed out again before the counter advances, so a failed send
+ * leaves no gap. Resyncing from the pending block while other transactions are still
+ * queued for sending would hand out their nonces a second time, so a release only
+ * resyncs once nothing else is in flight.
+ */
+@Slf4j
+@Component
+public class NonceManager {
+
+    private final Web3j web3j;
+    private final RpcBatcher rpcBatcher;
+    private final Credentials credentials;
+
+    private BigInteger next;
+    private final TreeSet<BigInteger> released = new TreeSet<>();
+    private int inFlight;
+
+    public NonceManager(Web3j web3j, RpcBatcher rpcBatcher, Credentials credentials) {
+        this.web3j = web3j;
+        this.rpcBatcher = rpcBatcher;
+        this.credentials = credentials;
+    }
+
+    /**
+     * Allocate the next nonce, syncing from the node first if needed
+     */
+    public synchronized BigInteger allocate() throws IOException {
+        prepare();
+        inFlight++;
+        if (!released.isEmpty()) {
+            return released.pollFirst();
+        }
+        BigInteger nonce = next;
+        next = next.add(BigInteger.ONE);
+        return nonce;
+    }
+
+    /**
+     * Sync from the node now if needed, so a later {@link #allocate()} needs no round trip
+     */
+    public synchronized void prepare() throws IOException {
+        if (next == null) {
+            next = fetchPendingNonce();
+            log.info("Nonce manager synced: next nonce {}", next);
+        }
+    }
+
+    /**
+     * The node accepted the transaction using {@code nonce}
+     */
+    public synchronized void sent(BigInteger nonce) {
+        inFlight--;
+    }
+
+    /**
+     * Sending with {@code nonce} failed for a reason other than the nonce; hand it out
+     * again, or resync if nothing else is in flight. If the node did receive it after all,
+     * the reuse is rejected as a nonce error and resyncs then.
+     */
+    public synchronized void release(BigInteger nonce) {
+        inFlight--;
+        if (next == null) {
+            return;
+        }
+        if (inFlight == 0) {
+            reset();
+        } else {
+            released.add(nonce);
+        }
+    }
+
+    /**
+     * The node rejected {@code nonce} as out of step; resync on the next allocation
+     */
+    public synchronized void invalidate(BigInteger nonce) {
+        inFlight--;
+        reset();
+    }
+
+    /**
+     * Forget the local counter; the next allocation re-reads the pending nonce from the node
+     */
+    public synchronized void reset() {
+        next = null;
+        released.clear();
+    }
+
+    /**
+     * True if a send error means our local nonce is out of step with the node
+     */
+    public static boolean isNonceError(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        return lower.contains("nonce too low")
+                || lower.contains("already known")
+                || lower.contains("known transaction")
+                || lower.contains("replacement transaction underpriced")
+                || lower.contains("incorrect nonce");
+    }
+
+    private BigInteger fetchPendingNonce() throws IOException {
+        EthGetTransactionCount response = rpcBatcher.send(web3j.ethGetTransactionCount(
+                credentials.getAddress(), DefaultBlockParameterName.PENDING));
+        if (response.hasError()) {
+            throw new RuntimeException("Failed to get transaction count: " + response.getError().getMessage());
+        }
+        return response.getTransactionCount();
+    }
+}
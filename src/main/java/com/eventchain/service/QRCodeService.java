@@ -3,19 +3,20 @@ package com.eventchain.service;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
+import com.google.zxing.common.BitArray;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.Hashtable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 @Slf4j
 @Service
@@ -24,42 +25,156 @@ public class QRCodeService {
     private static final int QR_CODE_SIZE = 300;
     private static final String CHARSET = "UTF-8";
 
+    /** QRCodeWriter keeps no state between calls, so one instance serves all threads */
+    private static final QRCodeWriter WRITER = new QRCodeWriter();
+    private static final Map<EncodeHintType, Object> HINTS;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+    private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+    private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+
+    /** Maps an LSB-first byte of BitMatrix modules to an MSB-first PNG byte (1 = white) */
+    private static final byte[] PNG_BYTE = new byte[256];
+
+    private static final ThreadLocal<PngScratch> SCRATCH = ThreadLocal.withInitial(PngScratch::new);
+
+    static {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.L);
+        hints.put(EncodeHintType.CHARACTER_SET, CHARSET);
+        hints.put(EncodeHintType.MARGIN, 1);
+        HINTS = Collections.unmodifiableMap(hints);
+
+        for (int i = 0; i < 256; i++) {
+            PNG_BYTE[i] = (byte) ~(Integer.reverse(i) >>> 24);
+        }
+    }
+
     /**
      * Generate QR code as Base64 encoded string
      */
-    public String generateQRCodeBase64(String data) throws WriterException, IOException {
-        log.info("Generating QR code for data: {}", data);
-
-        Hashtable<EncodeHintType, Object> hintMap = new Hashtable<>();
-        hintMap.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.L);
-        hintMap.put(EncodeHintType.CHARACTER_SET, CHARSET);
-        hintMap.put(EncodeHintType.MARGIN, 1);
-
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, QR_CODE_SIZE, QR_CODE_SIZE, hintMap);
-
-        int matrixWidth = bitMatrix.getWidth();
-        BufferedImage image = new BufferedImage(matrixWidth, matrixWidth, BufferedImage.TYPE_INT_RGB);
-        image.createGraphics();
-
-        Graphics2D graphics = (Graphics2D) image.getGraphics();
-        graphics.setColor(Color.WHITE);
-        graphics.fillRect(0, 0, matrixWidth, matrixWidth);
-        graphics.setColor(Color.BLACK);
-
-        for (int i = 0; i < matrixWidth; i++) {
-            for (int j = 0; j < matrixWidth; j++) {
-                if (bitMatrix.get(i, j)) {
-                    graphics.fillRect(i, j, 1, 1);
+    public String generateQRCodeBase64(String data) throws WriterException {
+        return Base64.getEncoder().encodeToString(generateQRCodePng(data));
+    }
+
+    /**
+     * Generate QR code as PNG bytes.
+     *
+     * The BitMatrix is packed straight into a 1-bit grayscale PNG (8 modules per byte)
+     * and deflated with per-thread reusable buffers; no BufferedImage or ImageIO involved.
+     */
+    public byte[] generateQRCodePng(String data) throws WriterException {
+        log.debug("Generating QR code for data: {}", data);
+
+        BitMatrix bitMatrix = WRITER.encode(data, BarcodeFormat.QR_CODE, QR_CODE_SIZE, QR_CODE_SIZE, HINTS);
+        return SCRATCH.get().encode(bitMatrix);
+    }
+
+    /**
+     * Per-thread buffers for PNG encoding
+     */
+    private static final class PngScratch {
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private final CRC32 crc = new CRC32();
+        private BitArray row = new BitArray(QR_CODE_SIZE);
+        private byte[] raw = new byte[0];
+        private byte[] compressed = new byte[0];
+        private byte[] out = new byte[0];
+        private int outLength;
+
+        private byte[] encode(BitMatrix matrix) {
+            int width = matrix.getWidth();
+            int height = matrix.getHeight();
+            int rowBytes = (width + 7) >>> 3;
+            int rawLength = height * (rowBytes + 1);
+            if (raw.length < rawLength) {
+                raw = new byte[rawLength];
+            }
+            if (row.getSize() < width) {
+                row = new BitArray(width);
+            }
+
+            // Scanlines: filter type 0 followed by the packed row. BitArray stores modules
+            // LSB-first in 32-bit words, so each byte is flipped and inverted via PNG_BYTE.
+            int pos = 0;
+            for (int y = 0; y < height; y++) {
+                int[] words = matrix.getRow(y, row).getBitArray();
+                raw[pos++] = 0;
+                for (int b = 0; b < rowBytes; b++) {
+                    int modules = (words[b >>> 2] >>> ((b & 3) << 3)) & 0xff;
+                    raw[pos++] = PNG_BYTE[modules];
+                }
+                int padding = (rowBytes << 3) - width;
+                if (padding > 0) {
+                    // Bits past the matrix edge must be white (1)
+                    raw[pos - 1] |= (byte) ((1 << padding) - 1);
+                }
+            }
+
+            deflater.reset();
+            deflater.setInput(raw, 0, rawLength);
+            deflater.finish();
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, Math.max(1024, compressed.length * 2));
                 }
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+
+            outLength = 0;
+            ensureOut(PNG_SIGNATURE.length + 25 + 12 + compressedLength + 12);
+            write(PNG_SIGNATURE, 0, PNG_SIGNATURE.length);
+
+            int ihdrStart = beginChunk(IHDR, 13);
+            writeInt(width);
+            writeInt(height);
+            out[outLength++] = 1; // bit depth
+            out[outLength++] = 0; // colour type: grayscale
+            out[outLength++] = 0; // compression
+            out[outLength++] = 0; // filter
+            out[outLength++] = 0; // interlace
+            endChunk(ihdrStart);
+
+            int idatStart = beginChunk(IDAT, compressedLength);
+            write(compressed, 0, compressedLength);
+            endChunk(idatStart);
+
+            endChunk(beginChunk(IEND, 0));
+
+            return Arrays.copyOf(out, outLength);
+        }
+
+        private int beginChunk(byte[] type, int length) {
+            writeInt(length);
+            int typeStart = outLength;
+            write(type, 0, type.length);
+            return typeStart;
+        }
+
+        private void endChunk(int typeStart) {
+            crc.reset();
+            crc.update(out, typeStart, outLength - typeStart);
+            writeInt((int) crc.getValue());
+        }
+
+        private void ensureOut(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[capacity];
             }
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(image, "PNG", baos);
-        byte[] imageBytes = baos.toByteArray();
+        private void write(byte[] bytes, int offset, int length) {
+            System.arraycopy(bytes, offset, out, outLength, length);
+            outLength += length;
+        }
 
-        return Base64.getEncoder().encodeToString(imageBytes);
+        private void writeInt(int value) {
+            out[outLength++] = (byte) (value >>> 24);
+            out[outLength++] = (byte) (value >>> 16);
+            out[outLength++] = (byte) (value >>> 8);
+            out[outLength++] = (byte) value;
+        }
     }
 }
-
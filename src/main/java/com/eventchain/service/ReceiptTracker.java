@@ -0,0 +1,230 @@
+package com.eventchain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completes receipt futures for pending transactions as new blocks arrive.
+ *
+ * Instead of every caller polling eth_getTransactionReceipt in a sleep loop, this
+ * tracker runs once per block (on {@link NewBlockEvent}): it reads the transaction
+ * hashes of the new blocks and fetches receipts only for the pending transactions
+ * found in them, all in one JSON-RPC batch. RPC load therefore follows the block
+ * rate, not the number of transactions in flight.
+ *
+ * A transaction may already be mined when it is registered (instant mining), in a
+ * block whose scan has already run; on an idle chain no later block would find it.
+ * Each new registration therefore checks its receipt directly once, and keeps being
+ * checked on new blocks until one of those direct checks gets an answer.
+ *
+ * The future returned by {@link #track} is shared by everyone waiting on the same
+ * transaction, so callers never cancel it; a caller that gives up calls
+ * {@link #untrack}, and the transaction stops being tracked once nobody waits for it.
+ */
+@Slf4j
+@Service
+public class ReceiptTracker {
+
+    private final Web3j web3j;
+    private final RpcBatcher rpcBatcher;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    @Value("${blockchain.receipt.max-blocks-per-scan:32}")
+    private int maxBlocksPerScan;
+
+    @Value("${blockchain.receipt.max-pending-ms:300000}")
+    private long maxPendingMs;
+
+    private BigInteger lastScannedBlock;
+
+    public ReceiptTracker(Web3j web3j, RpcBatcher rpcBatcher) {
+        this.web3j = web3j;
+        this.rpcBatcher = rpcBatcher;
+    }
+
+    /**
+     * Future that completes with the receipt once the transaction is mined
+     */
+    public CompletableFuture<TransactionReceipt> track(String txHash) {
+        Pending[] created = new Pending[1];
+        Pending entry = pending.compute(txHash.toLowerCase(Locale.ROOT), (hash, existing) -> {
+            Pending tracked = existing != null ? existing : (created[0] = new Pending(hash));
+            tracked.waiters++;
+            return tracked;
+        });
+        if (created[0] != null) {
+            // Registered before the check, so a block mined after it is found by the scan
+            rpcBatcher.submit(web3j.ethGetTransactionReceipt(entry.txHash)).whenComplete((response, error) -> {
+                if (error != null) {
+                    log.debug("Direct receipt check for {} failed: {}", entry.txHash, error.getMessage());
+                } else {
+                    onReceipt(entry.txHash, response);
+                }
+            });
+        }
+        return entry.future;
+    }
+
+    /**
+     * Give up waiting for a transaction passed to {@link #track}; it is dropped once
+     * every caller that tracked it has given up
+     */
+    public void untrack(String txHash) {
+        pending.computeIfPresent(txHash.toLowerCase(Locale.ROOT),
+                (hash, entry) -> --entry.waiters > 0 ? entry : null);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @EventListener
+    public synchronized void onNewBlock(NewBlockEvent newBlock) {
+        BigInteger head = newBlock.getBlockNumber();
+        BigInteger from = lastScannedBlock != null ? lastScannedBlock.add(BigInteger.ONE) : head;
+        lastScannedBlock = head;
+
+        pending.values().removeIf(entry -> entry.future.isDone());
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<String> toFetch = new LinkedHashSet<>();
+            // Transactions whose direct check has not answered yet may have been mined
+            // in a block scanned before they were registered
+            for (Pending entry : pending.values()) {
+                if (!entry.checkedDirectly) {
+                    toFetch.add(entry.txHash);
+                }
+            }
+
+            if (head.subtract(from).compareTo(BigInteger.valueOf(maxBlocksPerScan)) >= 0) {
+                // Too many blocks to scan; ask for every pending receipt instead
+                log.debug("Receipt tracker skipped {} blocks, checking all pending receipts", head.subtract(from));
+                toFetch.addAll(pending.keySet());
+            } else {
+                Set<String> minedHashes = blockTransactionHashes(from, head);
+                for (String txHash : pending.keySet()) {
+                    if (minedHashes.contains(txHash)) {
+                        toFetch.add(txHash);
+                    }
+                }
+            }
+
+            fetchReceipts(toFetch);
+        } catch (Exception e) {
+            log.warn("Receipt tracker failed for block {}: {}", head, e.getMessage());
+            log.debug("Receipt tracker failure", e);
+        } finally {
+            expireStale();
+        }
+    }
+
+    private Set<String> blockTransactionHashes(BigInteger from, BigInteger to) throws Exception {
+        List<CompletableFuture<EthBlock>> blocks = new ArrayList<>();
+        for (BigInteger n = from; n.compareTo(to) <= 0; n = n.add(BigInteger.ONE)) {
+            blocks.add(rpcBatcher.submit(web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(n), false)));
+        }
+
+        Set<String> hashes = new HashSet<>();
+        for (CompletableFuture<EthBlock> future : blocks) {
+            EthBlock response = RpcBatcher.await(future);
+            if (response.hasError() || response.getBlock() == null) {
+                continue;
+            }
+            for (EthBlock.TransactionResult<?> tx : response.getBlock().getTransactions()) {
+                hashes.add(((String) tx.get()).toLowerCase(Locale.ROOT));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Fetch receipts in one batch; a failed fetch leaves its transaction pending for the
+     * next block without affecting the others
+     */
+    private void fetchReceipts(Set<String> txHashes) {
+        if (txHashes.isEmpty()) {
+            return;
+        }
+        Map<String, CompletableFuture<EthGetTransactionReceipt>> receipts = new LinkedHashMap<>();
+        for (String txHash : txHashes) {
+            receipts.put(txHash, rpcBatcher.submit(web3j.ethGetTransactionReceipt(txHash)));
+        }
+        receipts.forEach((txHash, receipt) -> {
+            try {
+                onReceipt(txHash, RpcBatcher.await(receipt));
+            } catch (Exception e) {
+                log.debug("Receipt fetch for {} failed: {}", txHash, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Complete the pending entry if the receipt is there; either way, a successful
+     * answer means the transaction no longer needs a direct check
+     */
+    private void onReceipt(String txHash, EthGetTransactionReceipt response) {
+        if (response.hasError()) {
+            return;
+        }
+        if (response.getTransactionReceipt().isEmpty()) {
+            Pending entry = pending.get(txHash);
+            if (entry != null) {
+                entry.checkedDirectly = true;
+            }
+            return;
+        }
+        Pending entry = pending.remove(txHash);
+        if (entry != null) {
+            TransactionReceipt receipt = response.getTransactionReceipt().get();
+            log.info("Transaction {} mined in block: {}", entry.txHash, receipt.getBlockNumber());
+            entry.future.complete(receipt);
+        }
+    }
+
+    private void expireStale() {
+        long cutoff = System.currentTimeMillis() - maxPendingMs;
+        pending.values().removeIf(entry -> {
+            if (entry.registeredAt < cutoff) {
+                entry.future.completeExceptionally(new RuntimeException(
+                        "Transaction " + entry.txHash + " not mined after " + maxPendingMs + " ms"));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static final class Pending {
+        private final String txHash;
+        private final long registeredAt = System.currentTimeMillis();
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private volatile boolean checkedDirectly;
+        /** Callers of {@link #track} that have not given up; guarded by the map's compute */
+        private int waiters;
+
+        private Pending(String txHash) {
+            this.txHash = txHash;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.eventchain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects independent JSON-RPC requests and sends them to the node as one batch.
+ *
+ * Requests submitted within the same micro-batching window (from the same caller or
+ * from concurrent HTTP requests) share a single HTTP round trip. Each caller gets a
+ * future for its own response; JSON-RPC level errors are returned in the response as
+ * usual, transport failures complete the future exceptionally.
+ */
+@Slf4j
+@Component
+public class RpcBatcher {
+
+    private final Web3j web3j;
+    private final long windowMicros;
+    private final int maxBatchSize;
+
+    private final Queue<Pending<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rpc-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RpcBatcher(Web3j web3j,
+                      @Value("${blockchain.rpc.batch.window-micros:2000}") long windowMicros,
+                      @Value("${blockchain.rpc.batch.max-size:100}") int maxBatchSize) {
+        this.web3j = web3j;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        log.info("JSON-RPC batching: window={}us, max batch size={}", windowMicros, maxBatchSize);
+    }
+
+    /**
+     * Queue a request for the next batch
+     */
+    public <T extends Response<?>> CompletableFuture<T> submit(Request<?, T> request) {
+        Pending<T> pending = new Pending<>(request);
+        queue.add(pending);
+        if (queued.incrementAndGet() >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Queue a request and block until its response arrives
+     */
+    public <T extends Response<?>> T send(Request<?, T> request) throws IOException {
+        return await(submit(request));
+    }
+
+    /**
+     * Wait for a JSON-RPC future, unwrapping transport failures back into IOException
+     */
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for JSON-RPC response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("JSON-RPC request failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        while (!queue.isEmpty()) {
+            List<Pending<?>> batch = new ArrayList<>();
+            Pending<?> pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            queued.addAndGet(-batch.size());
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        }
+    }
+
+    private void send(List<Pending<?>> batch) {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Pending<?> pending : batch) {
+            batchRequest.add(pending.request);
+        }
+        log.debug("Sending JSON-RPC batch of {} requests", batch.size());
+
+        batchRequest.sendAsync().whenComplete((batchResponse, error) -> {
+            if (error != null) {
+                batch.forEach(pending -> pending.future.completeExceptionally(error));
+                return;
+            }
+            // Match by id: the JSON-RPC spec allows a server to answer a batch in any order
+            List<? extends Response<?>> responses = batchResponse.getResponses();
+            Map<Long, Response<?>> byId = new HashMap<>();
+            for (Response<?> response : responses) {
+                byId.put(response.getId(), response);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Pending<?> pending = batch.get(i);
+                Response<?> response = byId.get(pending.request.getId());
+                if (response == null && i < responses.size()) {
+                    response = responses.get(i);
+                }
+                pending.complete(response);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static final class Pending<T extends Response<?>> {
+        private final Request<?, T> request;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Pending(Request<?, T> request) {
+            this.request = request;
+        }
+
+        private void complete(Response<?> response) {
+            if (response == null) {
+                future.completeExceptionally(new IOException(
+                        "No response for JSON-RPC request " + request.getMethod() + " in batch"));
+            } else {
+                future.complete(request.getResponseType().cast(response));
+            }
+        }
+    }
+}
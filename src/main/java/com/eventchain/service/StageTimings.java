@@ -0,0 +1,54 @@
+package com.eventchain.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Wall-clock durations of the stages of one request, in the order they ran, reported to
+ * clients as a {@code Server-Timing} header so load tests can break latency down by stage.
+ *
+ * Stages of one request run one after another (possibly on different threads of a
+ * future chain, which orders them), so no locking is needed.
+ */
+public final class StageTimings {
+
+    private final List<String> stages = new ArrayList<>();
+    private final List<Long> durations = new ArrayList<>();
+    private long lastMark = System.nanoTime();
+
+    /**
+     * Record the time since the previous mark (or creation) as {@code stage}
+     */
+    public void mark(String stage) {
+        long now = System.nanoTime();
+        stages.add(stage);
+        durations.add(now - lastMark);
+        lastMark = now;
+    }
+
+    /**
+     * Pass each recorded stage and its duration in nanoseconds, in order
+     */
+    public void forEach(ObjLongConsumer<String> consumer) {
+        for (int i = 0; i < stages.size(); i++) {
+            consumer.accept(stages.get(i), durations.get(i));
+        }
+    }
+
+    /**
+     * {@code Server-Timing} header value, e.g. {@code ipfs;dur=1.234, send;dur=0.456}
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (int i = 0; i < stages.size(); i++) {
+            if (i > 0) {
+                header.append(", ");
+            }
+            header.append(stages.get(i)).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", durations.get(i) / 1_000_000.0));
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,184 @@
+package com.eventchain.service;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes the CIDv0 that {@code ipfs add} assigns to a byte array with its defaults:
+ * 256 KiB fixed-size chunks, dag-pb/UnixFS file nodes (no raw leaves), a balanced DAG
+ * with at most 174 links per node, and sha2-256 multihashes in base58btc.
+ *
+ * This lets us know an object's hash without talking to the daemon.
+ */
+final class UnixFsCid {
+
+    static final int CHUNK_SIZE = 262144;
+    static final int MAX_LINKS = 174;
+
+    private static final int UNIXFS_FILE = 2;
+    private static final char[] BASE58 = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
+
+    private UnixFsCid() {
+    }
+
+    /**
+     * Base58 CIDv0 of a file with the given content
+     */
+    static String of(byte[] content) {
+        MessageDigest sha256 = sha256();
+
+        List<Node> level = new ArrayList<>();
+        int offset = 0;
+        do {
+            int length = Math.min(CHUNK_SIZE, content.length - offset);
+            byte[] block = leafBlock(content, offset, length);
+            level.add(new Node(multihash(sha256, block), block.length, length));
+            offset += length;
+        } while (offset < content.length);
+
+        // Group bottom-up; full subtrees fill from the left, matching the balanced layout
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>((level.size() + MAX_LINKS - 1) / MAX_LINKS);
+            for (int from = 0; from < level.size(); from += MAX_LINKS) {
+                List<Node> children = level.subList(from, Math.min(from + MAX_LINKS, level.size()));
+                byte[] block = parentBlock(children);
+                long treeSize = block.length;
+                long fileSize = 0;
+                for (Node child : children) {
+                    treeSize += child.treeSize;
+                    fileSize += child.fileSize;
+                }
+                parents.add(new Node(multihash(sha256, block), treeSize, fileSize));
+            }
+            level = parents;
+        }
+        return base58(level.get(0).multihash);
+    }
+
+    /**
+     * PBNode{Data: UnixFS{Type: File, Data: chunk, filesize}}
+     */
+    private static byte[] leafBlock(byte[] content, int offset, int length) {
+        ByteArrayOutputStream unixfs = new ByteArrayOutputStream(length + 16);
+        writeTag(unixfs, 1, 0);
+        writeVarint(unixfs, UNIXFS_FILE);
+        if (length > 0) {
+            writeTag(unixfs, 2, 2);
+            writeVarint(unixfs, length);
+            unixfs.write(content, offset, length);
+        }
+        writeTag(unixfs, 3, 0);
+        writeVarint(unixfs, length);
+
+        ByteArrayOutputStream node = new ByteArrayOutputStream(unixfs.size() + 8);
+        writeBytesField(node, 1, unixfs.toByteArray());
+        return node.toByteArray();
+    }
+
+    /**
+     * PBNode{Links: [{Hash, Name: "", Tsize}...], Data: UnixFS{Type: File, filesize, blocksizes}}
+     */
+    private static byte[] parentBlock(List<Node> children) {
+        ByteArrayOutputStream node = new ByteArrayOutputStream(children.size() * 48 + 64);
+        long fileSize = 0;
+        for (Node child : children) {
+            ByteArrayOutputStream link = new ByteArrayOutputStream(48);
+            writeBytesField(link, 1, child.multihash);
+            writeBytesField(link, 2, new byte[0]);
+            writeTag(link, 3, 0);
+            writeVarint(link, child.treeSize);
+            writeBytesField(node, 2, link.toByteArray());
+            fileSize += child.fileSize;
+        }
+
+        ByteArrayOutputStream unixfs = new ByteArrayOutputStream(children.size() * 4 + 16);
+        writeTag(unixfs, 1, 0);
+        writeVarint(unixfs, UNIXFS_FILE);
+        writeTag(unixfs, 3, 0);
+        writeVarint(unixfs, fileSize);
+        for (Node child : children) {
+            writeTag(unixfs, 4, 0);
+            writeVarint(unixfs, child.fileSize);
+        }
+        writeBytesField(node, 1, unixfs.toByteArray());
+        return node.toByteArray();
+    }
+
+    private static byte[] multihash(MessageDigest sha256, byte[] block) {
+        byte[] digest = sha256.digest(block);
+        byte[] multihash = new byte[2 + digest.length];
+        multihash[0] = 0x12; // sha2-256
+        multihash[1] = (byte) digest.length;
+        System.arraycopy(digest, 0, multihash, 2, digest.length);
+        return multihash;
+    }
+
+    private static void writeBytesField(ByteArrayOutputStream out, int field, byte[] value) {
+        writeTag(out, field, 2);
+        writeVarint(out, value.length);
+        out.write(value, 0, value.length);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, (field << 3) | wireType);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static String base58(byte[] input) {
+        int zeros = 0;
+        while (zeros < input.length && input[zeros] == 0) {
+            zeros++;
+        }
+        byte[] number = Arrays.copyOf(input, input.length);
+        char[] encoded = new char[input.length * 2];
+        int outputStart = encoded.length;
+        for (int start = zeros; start < number.length; ) {
+            // Divide the big-endian number by 58 in place; the remainder is the next digit
+            int remainder = 0;
+            for (int i = start; i < number.length; i++) {
+                int value = (remainder << 8) | (number[i] & 0xff);
+                number[i] = (byte) (value / 58);
+                remainder = value % 58;
+            }
+            encoded[--outputStart] = BASE58[remainder];
+            if (number[start] == 0) {
+                start++;
+            }
+        }
+        for (int i = 0; i < zeros; i++) {
+            encoded[--outputStart] = BASE58[0];
+        }
+        return new String(encoded, outputStart, encoded.length - outputStart);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Node {
+        private final byte[] multihash;
+        private final long treeSize;
+        private final long fileSize;
+
+        private Node(byte[] multihash, long treeSize, long fileSize) {
+            this.multihash = multihash;
+            this.treeSize = treeSize;
+            this.fileSize = fileSize;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.eventchain.controller;
+
+import com.eventchain.model.Event;
+import com.eventchain.service.BlockchainService;
+import com.eventchain.service.EventProjection;
+import com.eventchain.service.EventResponseAssembler;
+import com.eventchain.service.EventStreamService;
+import com.eventchain.service.EventSubmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request mapping of the GET /events variants: plain requests get the JSON array whatever
+ * Accept header a client sends by default, and only /events/stream streams. Pages read
+ * from the chain while the projection catches up.
+ */
+@WebMvcTest(EventController.class)
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BlockchainService blockchainService;
+    @MockBean
+    private EventSubmissionService submissionService;
+    @MockBean
+    private EventResponseAssembler assembler;
+    @MockBean
+    private EventProjection eventProjection;
+    @MockBean
+    private EventStreamService eventStreamService;
+
+    @BeforeEach
+    void setUp() {
+        when(eventProjection.isSynced()).thenReturn(true);
+        when(eventProjection.getAll()).thenReturn(List.of());
+        when(assembler.toEventResponses(anyList(), anyBoolean())).thenReturn(List.of());
+        when(eventStreamService.streamNdjson(any(BigInteger.class), anyBoolean(), anyBoolean()))
+                .thenReturn(new ResponseBodyEmitter());
+        when(eventStreamService.streamSse(any(BigInteger.class), anyBoolean(), anyBoolean()))
+                .thenReturn(new SseEmitter());
+    }
+
+    @Test
+    void getAllEventsDefaultsToJson() throws Exception {
+        mockMvc.perform(get("/events"))
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("getAllEvents"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[]"));
+        mockMvc.perform(get("/events").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/events").header(HttpHeaders.ACCEPT, "application/json, text/plain, */*"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void streamDefaultsToNdjson() throws Exception {
+        mockMvc.perform(get("/events/stream"))
+                .andExpect(handler().methodName("streamEventsNdjson"));
+        mockMvc.perform(get("/events/stream").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(handler().methodName("streamEventsNdjson"));
+    }
+
+    @Test
+    void streamServesSseWhenAskedFor() throws Exception {
+        mockMvc.perform(get("/events/stream").header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE))
+                .andExpect(handler().methodName("streamEventsSse"));
+    }
+
+    @Test
+    void pageFromTheChainReadsTheCountOnlyWithTheEvents() throws Exception {
+        when(eventProjection.isSynced()).thenReturn(false);
+        Event event = new Event(BigInteger.TWO, "0xactor", "CREATED", "QmA", BigInteger.TEN, null);
+        when(blockchainService.getEvents(BigInteger.TWO, 1))
+                .thenReturn(new BlockchainService.EventSlice(BigInteger.valueOf(5), List.of(event)));
+
+        mockMvc.perform(get("/events").param("fromIndex", "2").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+        verify(blockchainService, never()).getEventCount();
+    }
+
+    @Test
+    void fromIndexWithoutLimitServesAPageNotTheWholeLedger() throws Exception {
+        when(eventProjection.isSynced()).thenReturn(false);
+        when(blockchainService.getEvents(eq(BigInteger.valueOf(500)), anyInt()))
+                .thenReturn(new BlockchainService.EventSlice(BigInteger.valueOf(501), List.of()));
+
+        mockMvc.perform(get("/events").param("fromIndex", "500"))
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("getEventPageFromIndex"))
+                .andExpect(jsonPath("$.total").value(501));
+
+        verify(blockchainService, never()).getAllEvents();
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventchain.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class EmbeddedContentStoreTest {
+
+    /** Marker, length, checksum and CID */
+    private static final int HEADER_LENGTH = 1 + 4 + 4 + 46;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void reopenedStoreServesWhatWasWritten() throws IOException {
+        String first;
+        String second;
+        try (EmbeddedContentStore store = open(false)) {
+            first = store.add(bytes("first"));
+            second = store.add(bytes("second"));
+            assertThat(store.add(bytes("first"))).isEqualTo(first);
+        }
+
+        try (EmbeddedContentStore store = open(true)) {
+            assertThat(first).isEqualTo(UnixFsCid.of(bytes("first")));
+            assertThat(store.get(first)).isEqualTo(bytes("first"));
+            assertThat(store.get(second)).isEqualTo(bytes("second"));
+        }
+    }
+
+    @Test
+    void tornRecordIsDroppedAndOverwritten() throws IOException {
+        String first;
+        String second;
+        try (EmbeddedContentStore store = open(false)) {
+            first = store.add(bytes("first"));
+            second = store.add(bytes("second"));
+        }
+        // The second record's marker reached the disk but part of its content did not
+        int secondContent = HEADER_LENGTH + bytes("first").length + HEADER_LENGTH;
+        try (RandomAccessFile file = new RandomAccessFile(dataDir.resolve("segment-00000.dat").toFile(), "rw")) {
+            file.seek(secondContent + 2);
+            file.write(0);
+        }
+
+        try (EmbeddedContentStore store = open(false)) {
+            assertThat(store.get(first)).isEqualTo(bytes("first"));
+            assertThat(store.exists(second)).isFalse();
+            assertThatIOException().isThrownBy(() -> store.get(second));
+
+            String third = store.add(bytes("third"));
+            assertThat(store.get(third)).isEqualTo(bytes("third"));
+        }
+        try (EmbeddedContentStore store = open(false)) {
+            assertThat(store.exists(second)).isFalse();
+            assertThat(store.get(UnixFsCid.of(bytes("third")))).isEqualTo(bytes("third"));
+        }
+    }
+
+    @Test
+    void recordsSpillIntoNewSegments() throws IOException {
+        byte[] large = new byte[3000];
+        String first;
+        String second;
+        try (EmbeddedContentStore store = new EmbeddedContentStore(dataDir.toString(), 4096, false)) {
+            first = store.add(large);
+            large[0] = 1;
+            second = store.add(large);
+        }
+
+        try (EmbeddedContentStore store = new EmbeddedContentStore(dataDir.toString(), 4096, false)) {
+            assertThat(store.get(first)[0]).isEqualTo((byte) 0);
+            assertThat(store.get(second)[0]).isEqualTo((byte) 1);
+        }
+        assertThat(dataDir.resolve("segment-00001.dat")).exists();
+    }
+
+    private EmbeddedContentStore open(boolean fsync) throws IOException {
+        return new EmbeddedContentStore(dataDir.toString(), 1 << 16, fsync);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
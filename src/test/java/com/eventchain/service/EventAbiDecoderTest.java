@@ -0,0 +1,169 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Decoding payloads encoded by web3j the way the contract's getters return them.
+ */
+class EventAbiDecoderTest {
+
+    private static final String[] STRINGS = {"", "A", "DISTRIBUTION", "ünïcødé €", "😀 emoji", "Ärztliche Prüfung 🧪",
+            "x".repeat(32), "y".repeat(33), "z".repeat(64)};
+
+    @Test
+    void roundTripsGetAllEvents() {
+        Random random = new Random(7);
+        List<Address> actors = new ArrayList<>();
+        List<Utf8String> eventTypes = new ArrayList<>();
+        List<Utf8String> metadataHashes = new ArrayList<>();
+        List<Uint256> timestamps = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // Runs of one actor and event type exercise the reuse of the previous value
+            actors.add(i % 4 == 0 || actors.isEmpty() ? new Address(new BigInteger(160, random)) : actors.get(i - 1));
+            eventTypes.add(i % 3 == 0 || eventTypes.isEmpty()
+                    ? new Utf8String(STRINGS[random.nextInt(STRINGS.length)]) : eventTypes.get(i - 1));
+            metadataHashes.add(new Utf8String(STRINGS[random.nextInt(STRINGS.length)] + i));
+            timestamps.add(new Uint256(i % 5 == 0 ? new BigInteger(256, random) : BigInteger.valueOf(random.nextLong() >>> 1)));
+        }
+        String value = allEvents(actors, eventTypes, metadataHashes, timestamps);
+
+        List<Event> events = EventAbiDecoder.decodeAllEvents(value);
+
+        assertThat(events).hasSize(300);
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            assertThat(event.getIndex()).isEqualTo(BigInteger.valueOf(i));
+            assertThat(event.getActor()).isEqualTo(actors.get(i).getValue());
+            assertThat(event.getEventType()).isEqualTo(eventTypes.get(i).getValue());
+            assertThat(event.getMetadataHash()).isEqualTo(metadataHashes.get(i).getValue());
+            assertThat(event.getTimestamp()).isEqualTo(timestamps.get(i).getValue());
+        }
+        assertThat(EventAbiDecoder.decodeAllEvents(value, (index, actor, eventType, metadataHash, timestamp) -> { }))
+                .isEqualTo(300);
+    }
+
+    @Test
+    void acceptsUpperCaseHex() {
+        Address actor = new Address("0x70997970c51812dc3a010c7d01b50e0d17dc79c8");
+        String value = allEvents(List.of(actor), List.of(new Utf8String("A")), List.of(new Utf8String("B")),
+                List.of(new Uint256(BigInteger.ONE)));
+
+        Event event = EventAbiDecoder.decodeAllEvents(value.toUpperCase().replace("0X", "0x")).get(0);
+
+        assertThat(event.getActor()).isEqualTo(actor.getValue());
+        assertThat(event.getEventType()).isEqualTo("A");
+    }
+
+    @Test
+    void decodesEmptyArrays() {
+        assertThat(EventAbiDecoder.decodeAllEvents(allEvents(List.of(), List.of(), List.of(), List.of()))).isEmpty();
+    }
+
+    @Test
+    void decodesNoCodeAsNothing() {
+        assertThat(EventAbiDecoder.decodeAllEvents("0x")).isEmpty();
+        assertThat(EventAbiDecoder.decodeAllEvents(null)).isEmpty();
+        assertThat(EventAbiDecoder.decodeEvent(BigInteger.ONE, "0x")).isNull();
+    }
+
+    @Test
+    void roundTripsGetEvent() {
+        Address actor = new Address("0xf39fd6e51aad88f6f4ce6ab8827279cfffb92266");
+        BigInteger timestamp = BigInteger.ONE.shiftLeft(200).add(BigInteger.TEN);
+        String value = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                actor, new Utf8String("Ärztliche Prüfung 🧪"), new Utf8String(""), new Uint256(timestamp)));
+
+        Event event = EventAbiDecoder.decodeEvent(BigInteger.valueOf(7), value);
+
+        assertThat(event.getIndex()).isEqualTo(BigInteger.valueOf(7));
+        assertThat(event.getActor()).isEqualTo(actor.getValue());
+        assertThat(event.getEventType()).isEqualTo("Ärztliche Prüfung 🧪");
+        assertThat(event.getMetadataHash()).isEmpty();
+        assertThat(event.getTimestamp()).isEqualTo(timestamp);
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        String value = sample();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeAllEvents(value.substring(0, value.length() - 64)));
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeAllEvents(value.substring(0, value.length() - 1)));
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeAllEvents(value.substring(0, 2 + 64)));
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeEvent(BigInteger.ZERO, "0x" + "0".repeat(64)));
+    }
+
+    @Test
+    void rejectsOutOfRangeOffsets() {
+        String value = sample();
+
+        // Offset of the timestamps array, past the end and too large for an int
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeAllEvents(
+                replaceWord(value, 3, BigInteger.valueOf((value.length() - 2) / 2))));
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeAllEvents(
+                replaceWord(value, 3, BigInteger.ONE.shiftLeft(255))));
+        // Length of the actors array, more elements than the payload holds
+        int actors = new BigInteger(word(value, 0), 16).intValue() / 32;
+        assertThatIllegalArgumentException().isThrownBy(() -> EventAbiDecoder.decodeAllEvents(
+                replaceWord(value, actors, BigInteger.valueOf(1000))));
+    }
+
+    @Test
+    void rejectsArraysOfDifferentLengths() {
+        Address actor = new Address("0x70997970c51812dc3a010c7d01b50e0d17dc79c8");
+        String value = allEvents(List.of(actor, actor), List.of(new Utf8String("A"), new Utf8String("B")),
+                List.of(new Utf8String("C")), List.of(new Uint256(BigInteger.ONE), new Uint256(BigInteger.TWO)));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> EventAbiDecoder.decodeAllEvents(value))
+                .withMessageContaining("differ in length");
+    }
+
+    @Test
+    void rejectsNonHexDigits() {
+        String value = sample();
+
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                EventAbiDecoder.decodeAllEvents(value.substring(0, value.length() - 1) + "g"));
+    }
+
+    private static String sample() {
+        Address actor = new Address("0x70997970c51812dc3a010c7d01b50e0d17dc79c8");
+        return allEvents(List.of(actor, actor), List.of(new Utf8String("CREATED"), new Utf8String("SHIPPED")),
+                List.of(new Utf8String("QmA"), new Utf8String("QmB")),
+                List.of(new Uint256(BigInteger.ONE), new Uint256(BigInteger.TWO)));
+    }
+
+    private static String allEvents(List<Address> actors, List<Utf8String> eventTypes,
+                                    List<Utf8String> metadataHashes, List<Uint256> timestamps) {
+        List<Type> values = List.of(
+                new DynamicArray<>(Address.class, actors),
+                new DynamicArray<>(Utf8String.class, eventTypes),
+                new DynamicArray<>(Utf8String.class, metadataHashes),
+                new DynamicArray<>(Uint256.class, timestamps));
+        return "0x" + FunctionEncoder.encodeConstructor(values);
+    }
+
+    private static String word(String value, int index) {
+        return value.substring(2 + 64 * index, 2 + 64 * (index + 1));
+    }
+
+    private static String replaceWord(String value, int index, BigInteger word) {
+        String hex = String.format("%64s", word.toString(16)).replace(' ', '0');
+        return value.substring(0, 2 + 64 * index) + hex + value.substring(2 + 64 * (index + 1));
+    }
+}
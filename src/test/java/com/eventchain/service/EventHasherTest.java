@@ -0,0 +1,153 @@
+package com.eventchain.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.eventchain.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Event hashes as EventChain.sol computes them:
+ * {@code keccak256(abi.encodePacked(msg.sender, eventType, metadataHash, block.timestamp, index))}.
+ */
+class EventHasherTest {
+
+    private static final String ACTOR = "0xf39Fd6e51aad88F6F4ce6aB8827279cffFb92266";
+    private static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+
+    private ListAppender<ILoggingEvent> logs;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(BlockchainService.class);
+        logs = new ListAppender<>();
+        logs.start();
+        logger.addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(logs);
+    }
+
+    @Test
+    void matchesKnownVectors() {
+        assertThat(EventHasher.hashHex(ACTOR, "CREATED", "QmT78zSuBmuS4z925WZfrqQ1qHaJ56DQaTfyMUF7F8ff5o",
+                BigInteger.valueOf(1700000000), BigInteger.ZERO))
+                .isEqualTo("0xa9faa4bec6ddbf0347882c7abb9e7f4aac8b8a60ba3f5d1b7ebe11bc7d378399");
+        assertThat(EventHasher.hashHex("0x70997970C51812dc3A010C7d01b50e0d17dc79C8", "Ärztliche Prüfung 🧪",
+                "QmbFMke1KXqnYyBBWxB74N4c5SBnJMVAiMNRcGu6x1AwQH", BigInteger.valueOf(1760659200), BigInteger.valueOf(41)))
+                .isEqualTo("0xdc36e2fb0a57b1599039996f8688b6eefe914fcdf6fcc3ca23dc3390c69e9abb");
+        assertThat(EventHasher.hashHex("0x0000000000000000000000000000000000000000", "x", "y",
+                BigInteger.ONE.shiftLeft(255), BigInteger.TWO.pow(256).subtract(BigInteger.ONE)))
+                .isEqualTo("0x67169e5bb4d707ceccc0d5d162aa0381c0214b2aeac785c18fc1b15cee566705");
+    }
+
+    @Test
+    void matchesWeb3jPackedEncoding() {
+        String[] eventTypes = {"A", "SHIPPED", "ü", "€", "𝄞 clef", "x".repeat(300)};
+        for (int i = 0; i < eventTypes.length; i++) {
+            BigInteger timestamp = BigInteger.valueOf(1_700_000_000L + i);
+            BigInteger index = BigInteger.valueOf(i * 1000L);
+            assertThat(EventHasher.hashHex(ACTOR, eventTypes[i], "Qm" + i, timestamp, index))
+                    .as(eventTypes[i])
+                    .isEqualTo(solidityHash(ACTOR, eventTypes[i], "Qm" + i, timestamp, index));
+        }
+    }
+
+    @Test
+    void rejectsMalformedAddresses() {
+        BigInteger one = BigInteger.ONE;
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> EventHasher.hashHex(ACTOR.substring(0, 41), "A", "B", one, one));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> EventHasher.hashHex(ACTOR.replace('f', 'g'), "A", "B", one, one));
+    }
+
+    @Test
+    void decodingAMatchingLogDoesNotWarn() {
+        Event event = blockchainService().decodeEventAddedLog(eventAddedLog(
+                solidityHash(ACTOR, "CREATED", "QmA", BigInteger.TEN, BigInteger.TWO)));
+
+        assertThat(event.getIndex()).isEqualTo(BigInteger.TWO);
+        assertThat(event.getActor()).isEqualToIgnoringCase(ACTOR);
+        assertThat(event.getEventType()).isEqualTo("CREATED");
+        assertThat(event.getMetadataHash()).isEqualTo("QmA");
+        assertThat(event.getTimestamp()).isEqualTo(BigInteger.TEN);
+        assertThat(logs.list).noneMatch(e -> e.getLevel() == Level.WARN);
+    }
+
+    @Test
+    void decodingALogWithAnotherHashWarns() {
+        String loggedHash = solidityHash(ACTOR, "CREATED", "QmA", BigInteger.TEN, BigInteger.ONE);
+        blockchainService().decodeEventAddedLog(eventAddedLog(loggedHash));
+
+        assertThat(logs.list)
+                .filteredOn(e -> e.getLevel() == Level.WARN)
+                .singleElement()
+                .satisfies(e -> assertThat(e.getFormattedMessage())
+                        .contains("Event #2", "0xtx", loggedHash,
+                                solidityHash(ACTOR, "CREATED", "QmA", BigInteger.TEN, BigInteger.TWO)));
+    }
+
+    /**
+     * keccak256(abi.encodePacked(...)) via web3j's packed encoder
+     */
+    private static String solidityHash(String actor, String eventType, String metadataHash,
+                                       BigInteger timestamp, BigInteger index) {
+        return Hash.sha3("0x"
+                + TypeEncoder.encodePacked(new Address(actor))
+                + TypeEncoder.encodePacked(new Utf8String(eventType))
+                + TypeEncoder.encodePacked(new Utf8String(metadataHash))
+                + TypeEncoder.encodePacked(new Uint256(timestamp))
+                + TypeEncoder.encodePacked(new Uint256(index)));
+    }
+
+    /**
+     * EventAdded for event #2 by {@link #ACTOR}: CREATED, QmA, timestamp 10
+     */
+    private static Log eventAddedLog(String eventHash) {
+        Log eventLog = new Log();
+        eventLog.setAddress(CONTRACT);
+        eventLog.setTransactionHash("0xtx");
+        eventLog.setTopics(List.of(
+                BlockchainService.EVENT_ADDED_TOPIC,
+                Numeric.toHexStringWithPrefixZeroPadded(BigInteger.TWO, 64),
+                "0x" + TypeEncoder.encode(new Address(ACTOR)),
+                eventHash));
+        eventLog.setData("0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Utf8String("CREATED"), new Utf8String("QmA"), new Uint256(BigInteger.TEN))));
+        return eventLog;
+    }
+
+    private static BlockchainService blockchainService() {
+        return new BlockchainService(mock(Web3j.class), mock(RpcBatcher.class), mock(NonceManager.class),
+                mock(ChainStateMonitor.class), mock(ReceiptTracker.class),
+                Credentials.create("0x4f3edf983ac636a65a842ce7c78d9aa706d3b113bce9c46f30d7d21715b23b1d"),
+                CONTRACT, BigInteger.valueOf(3_000_000), BigInteger.valueOf(60_000), BigInteger.valueOf(250_000), 50,
+                new SimpleMeterRegistry());
+    }
+}
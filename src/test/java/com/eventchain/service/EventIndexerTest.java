@@ -0,0 +1,227 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The indexer against a scripted chain: one event per block, block hashes chosen by the test
+ */
+class EventIndexerTest {
+
+    private static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+
+    @TempDir
+    Path dataDir;
+
+    private final BlockchainService blockchainService = mock(BlockchainService.class);
+    private final Map<BigInteger, String> blockHashes = new HashMap<>();
+    private final Map<BigInteger, Event> blockEvents = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(blockchainService.isContractConfigured()).thenReturn(true);
+        when(blockchainService.getContractAddress()).thenReturn(CONTRACT);
+        when(blockchainService.getBlockHashAsync(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(blockHashes.get(invocation.<BigInteger>getArgument(0))));
+        when(blockchainService.getEventAddedLogs(any(), any())).thenAnswer(invocation ->
+                logs(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    @Test
+    void followsTheChainIncrementally() throws Exception {
+        chain("a", 3);
+        EventIndexer indexer = indexer(projection());
+        indexer.index(BigInteger.valueOf(3));
+
+        chain("a", 5);
+        EventProjection projection = projection();
+        indexer = indexer(projection);
+        indexer.index(BigInteger.valueOf(5));
+
+        assertThat(projection.size()).isEqualTo(5);
+        assertThat(projection.getLastBlock()).isEqualTo(BigInteger.valueOf(5));
+        assertThat(projection.getLastBlockHash()).isEqualTo("a5");
+        assertThat(projection.isSynced()).isTrue();
+    }
+
+    @Test
+    void rebuildsWhenTheHeadIsBehindTheCheckpoint() throws Exception {
+        chain("a", 5);
+        indexer(projection()).index(BigInteger.valueOf(5));
+
+        // The node restarted with an empty chain and has mined two events since
+        chain("b", 2);
+        EventProjection projection = projection();
+        indexer(projection).index(BigInteger.valueOf(2));
+
+        assertThat(projection.size()).isEqualTo(2);
+        assertThat(projection.get(1).getMetadataHash()).isEqualTo("b-2");
+        assertThat(projection.getLastBlockHash()).isEqualTo("b2");
+    }
+
+    @Test
+    void rebuildsWhenTheCheckpointBlockHashDiffers() throws Exception {
+        chain("a", 3);
+        EventProjection projection = projection();
+        EventIndexer indexer = indexer(projection);
+        indexer.index(BigInteger.valueOf(3));
+
+        // A different chain that has already grown past the checkpoint
+        chain("b", 6);
+        indexer.index(BigInteger.valueOf(6));
+
+        assertThat(projection.size()).isEqualTo(6);
+        assertThat(projection.get(0).getMetadataHash()).isEqualTo("b-1");
+        assertThat(projection.getLastBlockHash()).isEqualTo("b6");
+    }
+
+    @Test
+    void rollsBackOnlyTheBlocksReplacedByAReorg() throws Exception {
+        chain("a", 3);
+        EventProjection projection = projection();
+        EventIndexer indexer = indexer(projection);
+        for (int head = 1; head <= 3; head++) {
+            indexer.index(BigInteger.valueOf(head));
+        }
+        Event kept = projection.get(1);
+
+        fork("b", 3);
+        clearInvocations(blockchainService);
+        indexer.index(BigInteger.valueOf(3));
+
+        assertThat(projection.size()).isEqualTo(3);
+        assertThat(projection.get(1)).isSameAs(kept);
+        assertThat(projection.get(2).getMetadataHash()).isEqualTo("b-3");
+        assertThat(projection.indexOf("a-3")).isEqualTo(-1);
+        assertThat(projection.indexOf("b-3")).isEqualTo(2);
+        assertThat(projection.getLastBlockHash()).isEqualTo("b3");
+        verify(blockchainService).getEventAddedLogs(BigInteger.valueOf(3), BigInteger.valueOf(3));
+        verify(blockchainService, never()).getEventAddedLogs(eq(BigInteger.ZERO), any());
+    }
+
+    @Test
+    void rollsBackAReorgThatHappenedWhileStopped() throws Exception {
+        chain("a", 4);
+        indexer(projection()).index(BigInteger.valueOf(4));
+
+        fork("b", 3);
+        EventProjection projection = projection();
+        indexer(projection).index(BigInteger.valueOf(4));
+
+        assertThat(projection.size()).isEqualTo(4);
+        assertThat(projection.get(1).getMetadataHash()).isEqualTo("a-2");
+        assertThat(projection.get(2).getMetadataHash()).isEqualTo("b-3");
+        assertThat(projection.getLastBlockHash()).isEqualTo("b4");
+        // The rewritten file and checkpoint load back as the new branch
+        EventProjection reloaded = projection();
+        reloaded.load(CONTRACT);
+        assertThat(reloaded.size()).isEqualTo(4);
+        assertThat(reloaded.get(3).getMetadataHash()).isEqualTo("b-4");
+    }
+
+    @Test
+    void indexesOffTheThreadThatPublishedTheBlock() throws Exception {
+        chain("a", 4);
+        EventProjection projection = projection();
+        EventIndexer indexer = indexer(projection);
+        CountDownLatch logsRequested = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            logsRequested.countDown();
+            release.await();
+            return logs(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(blockchainService).getEventAddedLogs(any(), any());
+        try {
+            indexer.onNewBlock(new NewBlockEvent(BigInteger.TWO));
+            assertThat(logsRequested.await(5, TimeUnit.SECONDS)).isTrue();
+            // The publishing thread returns while the indexer is still busy; these coalesce
+            indexer.onNewBlock(new NewBlockEvent(BigInteger.valueOf(3)));
+            indexer.onNewBlock(new NewBlockEvent(BigInteger.valueOf(4)));
+            assertThat(projection.size()).isZero();
+        } finally {
+            release.countDown();
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (projection.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(projection.size()).isEqualTo(4);
+        assertThat(projection.getLastBlockHash()).isEqualTo("a4");
+        indexer.shutdown();
+    }
+
+    /**
+     * Blocks 1..height, each with one event; block 0 is a shared genesis
+     */
+    private void chain(String name, int height) {
+        blockHashes.clear();
+        blockEvents.clear();
+        blockHashes.put(BigInteger.ZERO, "genesis");
+        for (int n = 1; n <= height; n++) {
+            blockHashes.put(BigInteger.valueOf(n), name + n);
+            blockEvents.put(BigInteger.valueOf(n), new Event(BigInteger.valueOf(n - 1),
+                    CONTRACT, "TYPE", name + "-" + n, BigInteger.valueOf(n), "0x" + name + n));
+        }
+    }
+
+    /**
+     * Replace blocks {@code from} and up with a competing branch called {@code name}
+     */
+    private void fork(String name, int from) {
+        for (BigInteger n = BigInteger.valueOf(from); blockHashes.containsKey(n); n = n.add(BigInteger.ONE)) {
+            blockHashes.put(n, name + n);
+            blockEvents.put(n, new Event(n.subtract(BigInteger.ONE),
+                    CONTRACT, "TYPE", name + "-" + n, n, "0x" + name + n));
+        }
+    }
+
+    private List<Event> logs(BigInteger from, BigInteger to) {
+        List<Event> events = new ArrayList<>();
+        for (BigInteger n = from; n.compareTo(to) <= 0; n = n.add(BigInteger.ONE)) {
+            if (blockEvents.containsKey(n)) {
+                events.add(blockEvents.get(n));
+            }
+        }
+        return events;
+    }
+
+    private EventProjection projection() {
+        EventProjection projection = new EventProjection();
+        ReflectionTestUtils.setField(projection, "dataDir", dataDir.toString());
+        ReflectionTestUtils.setField(projection, "maxReorgDepth", 8);
+        projection.init();
+        return projection;
+    }
+
+    private EventIndexer indexer(EventProjection projection) {
+        EventIndexer indexer = new EventIndexer(blockchainService, projection);
+        ReflectionTestUtils.setField(indexer, "enabled", true);
+        ReflectionTestUtils.setField(indexer, "startBlock", BigInteger.ZERO);
+        ReflectionTestUtils.setField(indexer, "maxBlockRange", BigInteger.valueOf(2));
+        return indexer;
+    }
+}
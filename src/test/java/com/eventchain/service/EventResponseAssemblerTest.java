@@ -0,0 +1,65 @@
+package com.eventchain.service;
+
+import com.eventchain.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Artifact cache statistics as the QR code endpoint drives them: the proof artifacts are
+ * looked up once for the ETag and the PNG is rendered from them.
+ */
+class EventResponseAssemblerTest {
+
+    private static final Event EVENT = new Event(BigInteger.ONE, "0x70997970c51812dc3a010c7d01b50e0d17dc79c8",
+            "CREATED", "QmA", BigInteger.TEN, "0xtx");
+
+    private SimpleMeterRegistry registry;
+    private ArtifactCache artifactCache;
+    private EventResponseAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        artifactCache = new ArtifactCache(true, 1 << 20, false, registry);
+        assembler = new EventResponseAssembler(new ProofService(), new QRCodeService(), artifactCache, 1, 16, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assembler.shutdown();
+    }
+
+    @Test
+    void qrCodeRequestCountsOneMissThenOneHit() throws Exception {
+        ArtifactCache.Artifacts proof = assembler.getProofArtifacts(EVENT);
+        byte[] png = assembler.toQrCodePng(EVENT, proof);
+
+        assertThat(proof.getEventHash()).isEqualTo(EventHasher.hashHex(EVENT));
+        assertThat(count("misses")).isEqualTo(1);
+        assertThat(count("hits")).isZero();
+
+        proof = assembler.getProofArtifacts(EVENT);
+        assertThat(assembler.toQrCodePng(EVENT, proof)).isEqualTo(png);
+        assertThat(count("misses")).isEqualTo(1);
+        assertThat(count("hits")).isEqualTo(1);
+        assertThat(artifactCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void everyResponseCountsOneLookup() {
+        assembler.toEventResponses(List.of(EVENT, EVENT), true);
+
+        assertThat(count("misses") + count("hits")).isEqualTo(2);
+    }
+
+    private double count(String counter) {
+        return registry.get("eventchain.artifacts.cache." + counter).counter().count();
+    }
+}
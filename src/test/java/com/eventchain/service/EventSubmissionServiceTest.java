@@ -0,0 +1,201 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventBatchChunk;
+import com.eventchain.dto.EventBatchResponse;
+import com.eventchain.dto.EventRequest;
+import com.eventchain.dto.EventResponse;
+import com.eventchain.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventSubmissionServiceTest {
+
+    private final BlockchainService blockchainService = mock(BlockchainService.class);
+    private final IpfsService ipfsService = mock(IpfsService.class);
+    private final EventResponseAssembler assembler = mock(EventResponseAssembler.class);
+    private final EventProjection projection = mock(EventProjection.class);
+    private EventSubmissionService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new EventSubmissionService(blockchainService, ipfsService, assembler, projection, 1,
+                new SimpleMeterRegistry());
+        when(ipfsService.uploadAllToIpfs(any())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(metadata -> "Qm" + metadata).toList());
+        when(projection.indexOf(anyString())).thenReturn(-1);
+        when(projection.isSynced()).thenReturn(true);
+        when(assembler.toEventResponses(anyList(), anyBoolean())).thenAnswer(invocation ->
+                invocation.<List<Event>>getArgument(0).stream()
+                        .map(event -> EventResponse.builder().index(event.getIndex()).metadataHash(event.getMetadataHash()).build())
+                        .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void reportsChunksSentBeforeOneFailed() throws Exception {
+        when(blockchainService.addEvents(any(), any())).thenReturn(List.of(
+                new BlockchainService.SentChunk(0, 2, "0xaa", null),
+                new BlockchainService.SentChunk(2, 3, null, "nonce too low"),
+                new BlockchainService.SentChunk(3, 4, null, "Not sent: earlier chunk failed")));
+        TransactionReceipt mined = receipt("0xaa", "0x1");
+        when(blockchainService.waitForTransactionReceiptAsync(eq("0xaa"), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(mined));
+        when(blockchainService.decodeEventAddedLogs(mined)).thenReturn(List.of(event(0, "Qma"), event(1, "Qmb")));
+
+        EventBatchResponse response = service.createEvents(requests("a", "b", "c", "d"), false);
+
+        assertThat(response.getTransactionHashes()).containsExactly("0xaa");
+        assertThat(response.getEvents()).extracting(EventResponse::getMetadataHash).containsExactly("Qma", "Qmb");
+        assertThat(response.getChunks()).extracting(EventBatchChunk::getStatus)
+                .containsExactly(EventSubmissionService.STATUS_CONFIRMED, EventSubmissionService.STATUS_FAILED,
+                        EventSubmissionService.STATUS_FAILED);
+        assertThat(response.getChunks().get(0).getEntries()).containsExactly(0, 1);
+        assertThat(response.getChunks().get(1).getEntries()).containsExactly(2);
+        assertThat(response.getChunks().get(1).getError()).isEqualTo("nonce too low");
+        assertThat(response.getErrors()).hasSize(2);
+        verify(assembler).toEventResponses(List.of(event(0, "Qma"), event(1, "Qmb")), false);
+    }
+
+    @Test
+    void reportsACancelledReceiptWaitAsPending() throws Exception {
+        when(blockchainService.addEvents(any(), any())).thenReturn(List.of(
+                new BlockchainService.SentChunk(0, 1, "0xaa", null),
+                new BlockchainService.SentChunk(1, 2, "0xbb", null)));
+        CompletableFuture<TransactionReceipt> cancelled = new CompletableFuture<>();
+        cancelled.cancel(false);
+        when(blockchainService.waitForTransactionReceiptAsync(eq("0xaa"), anyInt())).thenReturn(cancelled);
+        TransactionReceipt mined = receipt("0xbb", "0x1");
+        when(blockchainService.waitForTransactionReceiptAsync(eq("0xbb"), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(mined));
+        when(blockchainService.decodeEventAddedLogs(mined)).thenReturn(List.of(event(0, "Qmb")));
+
+        EventBatchResponse response = service.createEvents(requests("a", "b"), true);
+
+        assertThat(response.getChunks()).extracting(EventBatchChunk::getStatus)
+                .containsExactly(EventSubmissionService.STATUS_PENDING, EventSubmissionService.STATUS_CONFIRMED);
+        assertThat(response.getEvents()).extracting(EventResponse::getMetadataHash).containsExactly("Qmb");
+        verify(assembler).toEventResponses(List.of(event(0, "Qmb")), true);
+    }
+
+    @Test
+    void reportsRevertedAndUnconfirmedChunksWithTheirHashes() throws Exception {
+        when(blockchainService.addEvents(any(), any())).thenReturn(List.of(
+                new BlockchainService.SentChunk(0, 1, "0xaa", null),
+                new BlockchainService.SentChunk(1, 2, "0xbb", null)));
+        when(blockchainService.waitForTransactionReceiptAsync(eq("0xaa"), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(receipt("0xaa", "0x0")));
+        when(blockchainService.waitForTransactionReceiptAsync(eq("0xbb"), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Transaction not mined after 30 seconds")));
+
+        EventBatchResponse response = service.createEvents(requests("a", "b"), false);
+
+        assertThat(response.getTransactionHashes()).containsExactly("0xaa", "0xbb");
+        assertThat(response.getChunks()).extracting(EventBatchChunk::getStatus)
+                .containsExactly(EventSubmissionService.STATUS_FAILED, EventSubmissionService.STATUS_PENDING);
+        assertThat(response.getChunks()).extracting(EventBatchChunk::getTransactionHash).containsExactly("0xaa", "0xbb");
+        assertThat(response.getEvents()).isEmpty();
+    }
+
+    @Test
+    void checksTheChainForDuplicatesUntilTheProjectionHasSynced() throws Exception {
+        when(projection.isSynced()).thenReturn(false);
+        when(blockchainService.findEventIndexAsync("Qma")).thenReturn(CompletableFuture.completedFuture(BigInteger.TWO));
+        when(blockchainService.findEventIndexAsync("Qmb")).thenReturn(CompletableFuture.completedFuture(null));
+        when(blockchainService.addEvents(any(), any())).thenReturn(List.of(new BlockchainService.SentChunk(0, 1, "0xbb", null)));
+        TransactionReceipt mined = receipt("0xbb", "0x1");
+        when(blockchainService.waitForTransactionReceiptAsync(eq("0xbb"), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(mined));
+        when(blockchainService.decodeEventAddedLogs(mined)).thenReturn(List.of(event(3, "Qmb")));
+
+        EventBatchResponse response = service.createEvents(requests("a", "b"), false);
+
+        verify(blockchainService).addEvents(List.of("TYPE"), List.of("Qmb"));
+        assertThat(response.getErrors()).singleElement().asString().contains("Qma", "already exists", "index 2");
+        assertThat(response.getChunks().get(0).getEntries()).containsExactly(1);
+    }
+
+    @Test
+    void trustsTheSyncedProjection() throws Exception {
+        when(projection.indexOf("Qma")).thenReturn(0);
+
+        EventBatchResponse response = service.createEvents(requests("a"), false);
+
+        verify(blockchainService, never()).findEventIndexAsync(anyString());
+        verify(blockchainService, never()).addEvents(any(), any());
+        assertThat(response.getErrors()).hasSize(1);
+    }
+
+    @Test
+    void waitsForTheStreamUploadWhenTransactionPreparationFails() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream metadata = new ByteArrayInputStream(new byte[16]) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        CompletableFuture<String> upload = CompletableFuture.supplyAsync(() -> {
+            while (!closed.get()) {
+                Thread.onSpinWait();
+            }
+            throw new CompletionException(new IOException("Stream closed"));
+        });
+        when(ipfsService.uploadStreamAsync(metadata)).thenReturn(upload);
+        doThrow(new IOException("node unreachable")).when(blockchainService).prepareTransaction();
+
+        assertThatIOException().isThrownBy(() -> service.createEventFromStream("TYPE", metadata))
+                .withMessage("node unreachable");
+        assertThat(closed).isTrue();
+        assertThat(upload).isDone();
+    }
+
+    private static List<EventRequest> requests(String... metadata) {
+        return java.util.Arrays.stream(metadata).map(m -> {
+            EventRequest request = new EventRequest();
+            request.setEventType("TYPE");
+            request.setMetadata(m);
+            return request;
+        }).toList();
+    }
+
+    private static Event event(int index, String metadataHash) {
+        return new Event(BigInteger.valueOf(index), "0x0", "TYPE", metadataHash, BigInteger.ONE, "0x");
+    }
+
+    private static TransactionReceipt receipt(String txHash, String status) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(txHash);
+        receipt.setStatus(status);
+        return receipt;
+    }
+}
@@ -0,0 +1,126 @@
+package com.eventchain.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashIndexTest {
+
+    @Test
+    void missingKeysAreNotFound() {
+        HashIndex index = new HashIndex(0);
+        assertThat(index.get("QmMissing", i -> true)).isEqualTo(-1);
+
+        for (int i = 0; i < 11; i++) {
+            index.put("Qm" + i, i);
+        }
+        assertThat(index.get("QmMissing", i -> true)).isEqualTo(-1);
+        assertThat(index.get("", i -> true)).isEqualTo(-1);
+    }
+
+    @Test
+    void candidatesTheCallerRejectsAreNotFound() {
+        HashIndex index = new HashIndex(16);
+        index.put("QmA", 3);
+
+        assertThat(index.get("QmA", i -> false)).isEqualTo(-1);
+        assertThat(index.get("QmA", i -> i == 3)).isEqualTo(3);
+    }
+
+    @Test
+    void fingerprintCollisionsAreResolvedByTheCaller() {
+        // Two entries under one fingerprint look exactly like two hashes that collide
+        HashIndex index = new HashIndex(16);
+        index.put("QmA", 1);
+        index.put("QmA", 2);
+
+        assertThat(index.get("QmA", i -> i == 1)).isEqualTo(1);
+        assertThat(index.get("QmA", i -> i == 2)).isEqualTo(2);
+        assertThat(index.get("QmA", i -> i == 3)).isEqualTo(-1);
+    }
+
+    @Test
+    void keysProbingTheSameSlotAreAllFound() {
+        HashIndex index = new HashIndex(0);
+        int capacity = capacity(index);
+        List<String> sameSlot = new ArrayList<>();
+        for (int i = 0; sameSlot.size() < 8; i++) {
+            String hash = "Qm" + i;
+            if (slot(hash, capacity) == 5) {
+                sameSlot.add(hash);
+            }
+        }
+        for (int i = 0; i < sameSlot.size(); i++) {
+            index.put(sameSlot.get(i), i);
+        }
+
+        assertThat(capacity(index)).isEqualTo(capacity);
+        for (int i = 0; i < sameSlot.size(); i++) {
+            int expected = i;
+            assertThat(index.get(sameSlot.get(i), candidate -> candidate == expected)).isEqualTo(i);
+        }
+        assertThat(index.get("QmMissing", i -> true)).isEqualTo(-1);
+    }
+
+    @Test
+    void growsAndKeepsEveryEntry() {
+        HashIndex index = new HashIndex(0);
+        int initialCapacity = capacity(index);
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            hashes.add("Qm" + Integer.toHexString(i * 7919));
+            index.put(hashes.get(i), i);
+        }
+
+        assertThat(index.size()).isEqualTo(10_000);
+        assertThat(capacity(index)).isGreaterThan(initialCapacity).isGreaterThanOrEqualTo((int) (10_000 / 0.7f));
+        for (int i = 0; i < hashes.size(); i++) {
+            int expected = i;
+            assertThat(index.get(hashes.get(i), candidate -> candidate == expected)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void sizesTheTableForTheExpectedEntries() {
+        HashIndex index = new HashIndex(1000);
+        int capacity = capacity(index);
+        for (int i = 0; i < 1000; i++) {
+            index.put("Qm" + i, i);
+        }
+
+        assertThat(capacity(index)).isEqualTo(capacity);
+        assertThat(Integer.bitCount(capacity)).isEqualTo(1);
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        HashIndex index = new HashIndex(100);
+        index.put("QmA", 0);
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.get("QmA", i -> true)).isEqualTo(-1);
+        index.put("QmA", 1);
+        assertThat(index.get("QmA", i -> true)).isEqualTo(1);
+    }
+
+    @Test
+    void fingerprintIsNeverTheEmptyMarker() {
+        assertThat(HashIndex.fingerprint("")).isNotZero();
+        assertThat(HashIndex.fingerprint("QmA")).isEqualTo(HashIndex.fingerprint("QmA"));
+        assertThat(HashIndex.fingerprint("QmA")).isNotEqualTo(HashIndex.fingerprint("QmB"));
+    }
+
+    private static int capacity(HashIndex index) {
+        return ((long[]) ReflectionTestUtils.getField(index, "fingerprints")).length;
+    }
+
+    private static int slot(String hash, int capacity) {
+        long fingerprint = HashIndex.fingerprint(hash);
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (capacity - 1);
+    }
+}
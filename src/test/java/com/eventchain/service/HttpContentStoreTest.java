@@ -0,0 +1,36 @@
+package com.eventchain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which failures drop the client and are retried: only those where the daemon could not
+ * be reached or stopped answering.
+ */
+class HttpContentStoreTest {
+
+    @Test
+    void connectionFailuresAndTimeoutsAreTransportFailures() {
+        assertThat(HttpContentStore.isTransportFailure(new ConnectException("Connection refused"))).isTrue();
+        assertThat(HttpContentStore.isTransportFailure(
+                new RuntimeException("timeout", new SocketTimeoutException("Read timed out")))).isTrue();
+        // As the IPFS client reports them, without a cause
+        assertThat(HttpContentStore.isTransportFailure(new RuntimeException(
+                "Couldn't connect to IPFS daemon at http://127.0.0.1:5001/api/v0/version\\n Is IPFS running?"))).isTrue();
+        assertThat(HttpContentStore.isTransportFailure(
+                new RuntimeException("timeout (30000 ms) has been exceeded"))).isTrue();
+    }
+
+    @Test
+    void daemonErrorsAndAFullInFlightLimitAreNot() {
+        assertThat(HttpContentStore.isTransportFailure(new IOException("Too many IPFS requests in flight"))).isFalse();
+        assertThat(HttpContentStore.isTransportFailure(new RuntimeException(
+                "IOException contacting IPFS daemon.\\nTrailer: [X-Stream-Error] block was not found locally (offline)"))).isFalse();
+        assertThat(HttpContentStore.isTransportFailure(new IOException("IPFS upload returned empty result"))).isFalse();
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventchain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InstrumentedWeb3jServiceTest {
+
+    private final Web3jService delegate = mock(Web3jService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InstrumentedWeb3jService service = new InstrumentedWeb3jService(delegate, registry);
+
+    @Test
+    void recordsEachBatchedRequestAgainstTheResponseWithItsId() throws Exception {
+        Request<?, EthBlockNumber> blockNumber = new Request<>("eth_blockNumber", List.of(), service, EthBlockNumber.class);
+        Request<?, EthGetBalance> balance = new Request<>("eth_getBalance", List.of(), service, EthGetBalance.class);
+
+        EthBlockNumber blockNumberResponse = new EthBlockNumber();
+        blockNumberResponse.setId(blockNumber.getId());
+        blockNumberResponse.setResult("0x1");
+        EthGetBalance balanceResponse = new EthGetBalance();
+        balanceResponse.setId(balance.getId());
+        balanceResponse.setError(new Response.Error(-32000, "header not found"));
+
+        BatchRequest batch = new BatchRequest(service);
+        batch.add(blockNumber);
+        batch.add(balance);
+        // Answered in the opposite order
+        when(delegate.sendBatch(any())).thenReturn(new BatchResponse(batch.getRequests(),
+                List.of(balanceResponse, blockNumberResponse)));
+
+        service.sendBatch(batch);
+
+        assertThat(registry.get("eventchain.rpc.requests").tags("method", "eth_blockNumber", "outcome", "ok")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("eventchain.rpc.requests").tags("method", "eth_getBalance", "outcome", "error",
+                "code", "-32000").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventchain.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Nonce allocation against a node whose pending transaction count the test controls
+ */
+class NonceManagerTest {
+
+    private final RpcBatcher rpcBatcher = mock(RpcBatcher.class);
+    private final EthGetTransactionCount pendingCount = new EthGetTransactionCount();
+    private NonceManager nonceManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pendingCount.setResult("0x5");
+        when(rpcBatcher.send(any())).thenReturn(pendingCount);
+        nonceManager = new NonceManager(mock(Web3j.class), rpcBatcher,
+                Credentials.create("0x4f3edf983ac636a65a842ce7c78d9aa706d3b113bce9c46f30d7d21715b23b1d"));
+    }
+
+    @Test
+    void reusesAFailedNonceWhileOthersAreStillInFlight() throws Exception {
+        BigInteger first = nonceManager.allocate();
+        BigInteger second = nonceManager.allocate();
+        assertThat(first).isEqualTo(5);
+        assertThat(second).isEqualTo(6);
+
+        // A transport error on the first send must not resync: 6 is still queued
+        nonceManager.release(first);
+        assertThat(nonceManager.allocate()).isEqualTo(5);
+        assertThat(nonceManager.allocate()).isEqualTo(7);
+        verify(rpcBatcher, times(1)).send(any());
+    }
+
+    @Test
+    void resyncsOnceNothingElseIsInFlight() throws Exception {
+        BigInteger first = nonceManager.allocate();
+        BigInteger second = nonceManager.allocate();
+        nonceManager.sent(second);
+        nonceManager.release(first);
+
+        pendingCount.setResult("0x7");
+        assertThat(nonceManager.allocate()).isEqualTo(7);
+        verify(rpcBatcher, times(2)).send(any());
+    }
+
+    @Test
+    void resyncsAfterANonceRejection() throws Exception {
+        BigInteger first = nonceManager.allocate();
+        BigInteger second = nonceManager.allocate();
+        nonceManager.release(second);
+        nonceManager.invalidate(first);
+
+        pendingCount.setResult("0x9");
+        assertThat(nonceManager.allocate()).isEqualTo(9);
+        assertThat(nonceManager.allocate()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,65 @@
+package com.eventchain.service;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class QRCodeServiceTest {
+
+    /** Per-call allocation budget; the same limit applies to the JMH qrCodeBase64 result */
+    private static final long ALLOCATION_BUDGET_BYTES = 700_000;
+
+    private static final String PROOF = """
+            {
+              "eventHash" : "0xc8abd7f4316db93d2e67a6a3a0ef1968f3e8f3780e4d2644d466420c3518db14",
+              "metadataHash" : "QmX3rnkbDXSC98wZ4hpN1URoQeZjeKULTeWFcSa83y8Xkx",
+              "actor" : "0xeb47ce86c1cbd0e04fa1b4c5ad98722410546177",
+              "timestamp" : "2026-10-17T04:31:29Z",
+              "txHash" : "0x35bd0cc311967710541f21707dba6b49a1cd04bb1bfa94178e2ee7644ee90c82"
+            }""";
+
+    private final QRCodeService qrCodeService = new QRCodeService();
+
+    @Test
+    void rendersAPngThatDecodesToTheInput() throws Exception {
+        byte[] png = Base64.getDecoder().decode(qrCodeService.generateQRCodeBase64(PROOF));
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertThat(image.getWidth()).isEqualTo(300);
+        assertThat(image.getHeight()).isEqualTo(300);
+        String decoded = new MultiFormatReader()
+                .decode(new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image))))
+                .getText();
+        assertThat(decoded).isEqualTo(PROOF);
+    }
+
+    @Test
+    void staysWithinItsAllocationBudget() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < 50; i++) {
+            qrCodeService.generateQRCodeBase64(PROOF);
+        }
+        int calls = 100;
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < calls; i++) {
+            qrCodeService.generateQRCodeBase64(PROOF);
+        }
+        long perCall = (threads.getThreadAllocatedBytes(thread) - before) / calls;
+
+        assertThat(perCall).as("bytes allocated per QR code").isLessThanOrEqualTo(ALLOCATION_BUDGET_BYTES);
+    }
+}
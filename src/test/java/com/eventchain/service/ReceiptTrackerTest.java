@@ -0,0 +1,137 @@
+package com.eventchain.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Receipt tracking against the in-memory ledger in automine mode, where every transaction
+ * is mined in its own block as soon as it is sent and no further block follows.
+ */
+class ReceiptTrackerTest {
+
+    private static final String CONTRACT = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+    private static final Credentials SIGNER =
+            Credentials.create("0x4f3edf983ac636a65a842ce7c78d9aa706d3b113bce9c46f30d7d21715b23b1d");
+
+    private FlakyNode node;
+    private Web3j web3j;
+    private RpcBatcher rpcBatcher;
+    private ReceiptTracker tracker;
+    private long nonce;
+
+    @BeforeEach
+    void setUp() {
+        node = new FlakyNode();
+        web3j = Web3j.build(node);
+        rpcBatcher = new RpcBatcher(web3j, 500, 100);
+        tracker = new ReceiptTracker(web3j, rpcBatcher);
+        ReflectionTestUtils.setField(tracker, "maxBlocksPerScan", 32);
+        ReflectionTestUtils.setField(tracker, "maxPendingMs", 300_000L);
+        tracker.onNewBlock(new NewBlockEvent(BigInteger.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rpcBatcher.shutdown();
+        web3j.shutdown();
+    }
+
+    @Test
+    void completesTransactionMinedBeforeItWasTracked() throws Exception {
+        String txHash = send();
+        // The block that mined it is scanned before anyone tracks the transaction
+        tracker.onNewBlock(new NewBlockEvent(BigInteger.ONE));
+
+        TransactionReceipt receipt = tracker.track(txHash).get(5, TimeUnit.SECONDS);
+
+        assertThat(receipt.getTransactionHash()).isEqualTo(txHash);
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void retriesDirectCheckThatFailed() throws Exception {
+        String txHash = send();
+        tracker.onNewBlock(new NewBlockEvent(BigInteger.ONE));
+
+        node.failReceipts = true;
+        CompletableFuture<TransactionReceipt> future = tracker.track(txHash);
+        Thread.sleep(200);
+        assertThat(future).isNotDone();
+
+        node.failReceipts = false;
+        send();
+        tracker.onNewBlock(new NewBlockEvent(BigInteger.TWO));
+
+        assertThat(future.get(5, TimeUnit.SECONDS).getTransactionHash()).isEqualTo(txHash);
+    }
+
+    @Test
+    void oneCallerGivingUpLeavesTheOthersWaiting() throws Exception {
+        String txHash = "0x" + "ab".repeat(32);
+        CompletableFuture<TransactionReceipt> first = tracker.track(txHash);
+        CompletableFuture<TransactionReceipt> second = tracker.track(txHash);
+
+        tracker.untrack(txHash);
+        assertThat(tracker.getPendingCount()).isEqualTo(1);
+        assertThat(second).isNotDone();
+
+        tracker.untrack(txHash);
+        assertThat(tracker.getPendingCount()).isZero();
+        assertThat(first).isSameAs(second).isNotDone();
+    }
+
+    @Test
+    void expiresStaleTransactionsWhenReceiptFetchesFail() throws Exception {
+        ReflectionTestUtils.setField(tracker, "maxPendingMs", 0L);
+        node.failReceipts = true;
+        CompletableFuture<TransactionReceipt> future = tracker.track("0x" + "cd".repeat(32));
+        Thread.sleep(20);
+
+        tracker.onNewBlock(new NewBlockEvent(BigInteger.ONE));
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    private String send() throws IOException {
+        RawTransaction transaction = RawTransaction.createTransaction(BigInteger.valueOf(nonce++),
+                BigInteger.valueOf(20_000_000_000L), BigInteger.valueOf(100_000), CONTRACT, "0x");
+        String signed = Numeric.toHexString(TransactionEncoder.signMessage(transaction, 1337L, SIGNER));
+        return web3j.ethSendRawTransaction(signed).send().getTransactionHash();
+    }
+
+    /**
+     * Automining node whose transport drops receipt requests while {@code failReceipts} is set
+     */
+    private static final class FlakyNode extends InMemoryEventChainNode {
+        private volatile boolean failReceipts;
+
+        private FlakyNode() {
+            super(CONTRACT, 0, 0, BigInteger.valueOf(20_000_000_000L), new BigInteger("1000000000000000000000"));
+        }
+
+        @Override
+        protected InputStream performIO(String payload) throws IOException {
+            if (failReceipts && payload.contains("eth_getTransactionReceipt")) {
+                throw new IOException("connection reset");
+            }
+            return super.performIO(payload);
+        }
+    }
+}
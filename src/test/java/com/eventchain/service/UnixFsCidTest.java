@@ -0,0 +1,196 @@
+package com.eventchain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CIDv0 of files as {@code ipfs add} computes them with its defaults.
+ *
+ * The small files are checked against the CIDs {@code ipfs add} prints for them. Chunked
+ * files are checked against DAGs assembled here, block by block, in kubo's balanced
+ * layout: a single chunk is its own root, up to 174 chunks hang off one root, and the
+ * 175th chunk starts a second subtree under a new root.
+ */
+class UnixFsCidTest {
+
+    private static final int CHUNK = UnixFsCid.CHUNK_SIZE;
+
+    @Test
+    void emptyFile() {
+        assertThat(UnixFsCid.of(new byte[0])).isEqualTo("QmbFMke1KXqnYyBBWxB74N4c5SBnJMVAiMNRcGu6x1AwQH");
+    }
+
+    @Test
+    void singleChunkFiles() {
+        assertThat(UnixFsCid.of("hello world\n".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("QmT78zSuBmuS4z925WZfrqQ1qHaJ56DQaTfyMUF7F8ff5o");
+        assertThat(UnixFsCid.of("hello world".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("Qmf412jQZiuVUtdgnB36FXFX7xg5V6KEbSJ4dpQuhkLyfD");
+    }
+
+    @Test
+    void exactlyOneFullChunkIsASingleLeaf() {
+        byte[] content = content(CHUNK);
+        assertThat(UnixFsCid.of(content)).isEqualTo(cid(leaf(content, 0, CHUNK).block));
+    }
+
+    @Test
+    void oneByteOverAChunkSplitsIntoTwoLeaves() {
+        byte[] content = content(CHUNK + 1);
+        Block root = parent(List.of(leaf(content, 0, CHUNK), leaf(content, CHUNK, 1)));
+        assertThat(UnixFsCid.of(content)).isEqualTo(cid(root.block));
+    }
+
+    @Test
+    void multipleChunks() {
+        byte[] content = content(3 * CHUNK + 12345);
+        assertThat(UnixFsCid.of(content)).isEqualTo(cid(parent(leaves(content, 0, 4)).block));
+    }
+
+    @Test
+    void fullFanOutStaysOneLevelDeep() {
+        byte[] content = content(UnixFsCid.MAX_LINKS * CHUNK);
+        assertThat(UnixFsCid.of(content)).isEqualTo(cid(parent(leaves(content, 0, UnixFsCid.MAX_LINKS)).block));
+    }
+
+    @Test
+    void moreThan174ChunksAddsALevel() {
+        int chunks = UnixFsCid.MAX_LINKS + 2;
+        byte[] content = content((chunks - 1) * CHUNK + 777);
+        Block first = parent(leaves(content, 0, UnixFsCid.MAX_LINKS));
+        Block second = parent(leaves(content, UnixFsCid.MAX_LINKS, chunks));
+        assertThat(UnixFsCid.of(content)).isEqualTo(cid(parent(List.of(first, second)).block));
+    }
+
+    /**
+     * Deterministic, incompressible-looking content so that chunks differ from each other
+     */
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        long state = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < length; i++) {
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            content[i] = (byte) state;
+        }
+        return content;
+    }
+
+    private static List<Block> leaves(byte[] content, int fromChunk, int toChunk) {
+        List<Block> leaves = new ArrayList<>();
+        for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+            int offset = chunk * CHUNK;
+            leaves.add(leaf(content, offset, Math.min(CHUNK, content.length - offset)));
+        }
+        return leaves;
+    }
+
+    /**
+     * PBNode{Data: UnixFS{Type: File(2), Data: chunk, filesize}}
+     */
+    private static Block leaf(byte[] content, int offset, int length) {
+        ByteArrayOutputStream unixfs = new ByteArrayOutputStream();
+        unixfs.write(0x08);
+        unixfs.write(0x02);
+        unixfs.write(0x12);
+        varint(unixfs, length);
+        unixfs.write(content, offset, length);
+        unixfs.write(0x18);
+        varint(unixfs, length);
+        byte[] block = bytesField(0x0a, unixfs.toByteArray());
+        return new Block(block, block.length, length);
+    }
+
+    /**
+     * PBNode{Links: [{Hash, Name: "", Tsize}...], Data: UnixFS{Type: File, filesize, blocksizes...}}
+     */
+    private static Block parent(List<Block> children) {
+        ByteArrayOutputStream node = new ByteArrayOutputStream();
+        long fileSize = 0;
+        long treeSize = 0;
+        for (Block child : children) {
+            ByteArrayOutputStream link = new ByteArrayOutputStream();
+            link.writeBytes(bytesField(0x0a, multihash(child.block)));
+            link.writeBytes(bytesField(0x12, new byte[0]));
+            link.write(0x18);
+            varint(link, child.treeSize);
+            node.writeBytes(bytesField(0x12, link.toByteArray()));
+            fileSize += child.fileSize;
+            treeSize += child.treeSize;
+        }
+        ByteArrayOutputStream unixfs = new ByteArrayOutputStream();
+        unixfs.write(0x08);
+        unixfs.write(0x02);
+        unixfs.write(0x18);
+        varint(unixfs, fileSize);
+        for (Block child : children) {
+            unixfs.write(0x20);
+            varint(unixfs, child.fileSize);
+        }
+        node.writeBytes(bytesField(0x0a, unixfs.toByteArray()));
+        byte[] block = node.toByteArray();
+        return new Block(block, treeSize + block.length, fileSize);
+    }
+
+    private static byte[] bytesField(int tag, byte[] value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(tag);
+        varint(out, value.length);
+        out.writeBytes(value);
+        return out.toByteArray();
+    }
+
+    private static void varint(ByteArrayOutputStream out, long value) {
+        while (value >= 0x80) {
+            out.write((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static byte[] multihash(byte[] block) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(block);
+            byte[] multihash = new byte[34];
+            multihash[0] = 0x12;
+            multihash[1] = 32;
+            System.arraycopy(digest, 0, multihash, 2, 32);
+            return multihash;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Base58btc of the multihash, via BigInteger (a CIDv0 multihash never starts with zeros)
+     */
+    private static String cid(byte[] block) {
+        String alphabet = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+        BigInteger number = new BigInteger(1, multihash(block));
+        BigInteger base = BigInteger.valueOf(58);
+        StringBuilder cid = new StringBuilder();
+        while (number.signum() > 0) {
+            BigInteger[] division = number.divideAndRemainder(base);
+            cid.append(alphabet.charAt(division[1].intValue()));
+            number = division[0];
+        }
+        return cid.reverse().toString();
+    }
+
+    private record Block(byte[] block, long treeSize, long fileSize) {
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOf(block, 8)) + "... (" + fileSize + " bytes)";
+        }
+    }
+}